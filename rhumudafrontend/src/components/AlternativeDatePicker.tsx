@@ -10,6 +10,8 @@ interface AlternativeDatePickerProps {
   onChange: (value: string) => void;
   mainBookingDate: string;
   label: string;
+  // Fully booked dates (YYYY-MM-DD)
+  unavailableDates?: Set<string>;
 }
 
 const AlternativeDatePicker: React.FC<AlternativeDatePickerProps> = ({
@@ -17,6 +19,7 @@ const AlternativeDatePicker: React.FC<AlternativeDatePickerProps> = ({
   onChange,
   mainBookingDate,
   label,
+  unavailableDates,
 }) => {
   const handleDateChange = (date: dayjs.Dayjs | null) => {
     if (date) {
@@ -33,6 +36,7 @@ const AlternativeDatePicker: React.FC<AlternativeDatePickerProps> = ({
         value={value ? dayjs(value) : null}
         onChange={handleDateChange}
         minDate={mainBookingDate ? dayjs(mainBookingDate) : undefined}
+        shouldDisableDate={(date) => !!unavailableDates?.has(date.format("YYYY-MM-DD"))}
         format="DD/MM/YYYY"
         slotProps={{
           textField: {
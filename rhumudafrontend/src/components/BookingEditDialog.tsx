@@ -266,13 +266,14 @@ const BookingEditDialog: React.FC<BookingEditDialogProps> = ({
         alternativeDate1: formData.alternativeDate1 || null,
         alternativeDate2: formData.alternativeDate2 || null,
         specialRemarks: formData.specialRemarks?.trim() || null,
-        status: formData.status || "PENDING"
+        status: formData.status || "PENDING",
+        version: formData.version
       };
 
       // Log the prepared update data
       console.log("Sending update data:", updateData);
 
-      const response = await fetch(getApiUrl(API_CONFIG.ENDPOINTS.BOOKINGS), {
+      const response = await fetch(`${getApiUrl(API_CONFIG.ENDPOINTS.BOOKINGS)}/${bookingId}`, {
         method: "PUT",
         headers: {
           "Content-Type": "application/json",
@@ -284,6 +285,12 @@ const BookingEditDialog: React.FC<BookingEditDialogProps> = ({
       const responseData = await response.json();
       console.log("Server response:", responseData);
 
+      if (response.status === 409 && responseData.current) {
+        // Someone else saved first; show their version so the edit can be redone on top of it
+        setFormData(responseData.current);
+        throw new Error("This booking was changed by someone else. The latest details have been loaded.");
+      }
+
       if (!response.ok) {
         const errorMessage = responseData.message || responseData.error || "Failed to update booking";
         throw new Error(errorMessage);
@@ -9,11 +9,14 @@ import CalendarMonthIcon from "@mui/icons-material/CalendarMonth";
 interface ReservationDatePickerProps {
   value: string;
   onChange: (value: string) => void;
+  // Fully booked dates (YYYY-MM-DD)
+  unavailableDates?: Set<string>;
 }
 
 const ReservationDatePicker: React.FC<ReservationDatePickerProps> = ({
   value,
   onChange,
+  unavailableDates,
 }) => {
   const [selectedDate, setSelectedDate] = React.useState<Dayjs | null>(
     value ? dayjs(value) : null
@@ -26,12 +29,14 @@ const ReservationDatePicker: React.FC<ReservationDatePickerProps> = ({
     }
   };
 
-  // Disable past dates and dates more than 3 months ahead
+  // Disable past dates, dates more than 3 months ahead and fully booked dates
   const disableDates = (date: Dayjs) => {
     const today = dayjs();
     const threeMonthsFromNow = today.add(3, "month");
     return (
-      date.isBefore(today, "day") || date.isAfter(threeMonthsFromNow, "day")
+      date.isBefore(today, "day") ||
+      date.isAfter(threeMonthsFromNow, "day") ||
+      !!unavailableDates?.has(date.format("YYYY-MM-DD"))
     );
   };
 
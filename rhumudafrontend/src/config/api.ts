@@ -7,6 +7,7 @@ export const API_CONFIG = {
         PACKAGE_CATEGORIES: '/package-categories',
         JETTY_POINTS: '/jettypoints',
         ADD_ONS: '/addons',
+        QUOTES: '/quotes',
         TEST: '/test'
     }
 };
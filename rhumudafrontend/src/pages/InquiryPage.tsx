@@ -44,6 +44,9 @@ import { BOOKING_SELECTION_KEY, BookingSelection } from "../types/booking";
 // import Description from "../components/Description";
 import { Helmet } from 'react-helmet-async';
 import { API_CONFIG, getApiUrl } from "../config/api";
+import { fetchUnavailableDates } from "../utils/availability";
+import { fetchQuote, Quote } from "../utils/quote";
+import { IDEMPOTENCY_HEADER, newIdempotencyKey } from "../utils/idempotency";
 
 interface CustomerInfo {
   firstName: string;
@@ -152,12 +155,6 @@ const loadFromLocalStorage = () => {
   return saved ? JSON.parse(saved) : null;
 };
 
-const generateBookingId = () => {
-  const timestamp = new Date().getTime();
-  const random = Math.floor(Math.random() * 1000);
-  return `RHM${timestamp}${random}`;
-};
-
 const InquiryPage: React.FC = () => {
   const location = useLocation();
   const navigate = useNavigate();
@@ -224,6 +221,10 @@ const InquiryPage: React.FC = () => {
   const [addOnsError, setAddOnsError] = useState<string | null>(null);
   const [packages, setPackages] = useState<Package[]>([]);
   const [selectedCategory, setSelectedCategory] = useState<number>(1); // Default to boat charter
+  const [unavailableDates, setUnavailableDates] = useState<Set<string>>(new Set());
+  const [quote, setQuote] = useState<Quote | null>(null);
+  // Shared by overlapping clicks, replaced once an attempt has an answer
+  const createKeyRef = React.useRef<string>(newIdempotencyKey());
 
   useEffect(() => {
     const fetchAddOns = async () => {
@@ -264,6 +265,63 @@ const InquiryPage: React.FC = () => {
     }
   }, [selectedCategory]);
 
+  useEffect(() => {
+    if (!reservationDetails.packageId) {
+      setUnavailableDates(new Set());
+      return;
+    }
+
+    fetchUnavailableDates(
+      reservationDetails.packageId,
+      reservationDetails.jettyPoint,
+      reservationDetails.passengers
+    )
+      .then(setUnavailableDates)
+      .catch((error) => {
+        // Dates are still checked when the booking is saved
+        console.error("Error fetching availability:", error);
+        setUnavailableDates(new Set());
+      });
+  }, [
+    reservationDetails.packageId,
+    reservationDetails.jettyPoint,
+    reservationDetails.passengers,
+  ]);
+
+  useEffect(() => {
+    if (!reservationDetails.packageId || reservationDetails.passengers < 1) {
+      setQuote(null);
+      return;
+    }
+
+    // Wait for the counter to settle, and drop answers to superseded requests
+    const controller = new AbortController();
+    const timer = setTimeout(() => {
+      fetchQuote(
+        reservationDetails.packageId,
+        reservationDetails.passengers,
+        reservationDetails.addOns,
+        controller.signal
+      )
+        .then(setQuote)
+        .catch((error) => {
+          if (error.name !== "AbortError") {
+            console.error("Error fetching quote:", error);
+            setQuote(null);
+          }
+        });
+    }, 250);
+
+    return () => {
+      clearTimeout(timer);
+      controller.abort();
+    };
+  }, [
+    reservationDetails.packageId,
+    reservationDetails.passengers,
+    reservationDetails.addOns,
+  ]);
+
   useEffect(() => {
     const savedData = loadFromLocalStorage();
     if (savedData) {
@@ -689,10 +747,8 @@ const InquiryPage: React.FC = () => {
 
   const saveBooking = async () => {
     try {
-      const bookingId = generateBookingId();
-
+      // The booking ID is allocated by the server
       const bookingData = {
-        bookingId: bookingId,
         status: "INCOMPLETE", // Initial status when creating booking
         firstName: customerInfo.firstName,
         lastName: customerInfo.lastName,
@@ -719,9 +775,11 @@ const InquiryPage: React.FC = () => {
         method: "POST",
         headers: {
           "Content-Type": "application/json",
+          [IDEMPOTENCY_HEADER]: createKeyRef.current,
         },
         body: JSON.stringify(bookingData),
       });
+      createKeyRef.current = newIdempotencyKey();
 
       const responseData = await response.json();
       console.log("Server response:", responseData);
@@ -734,7 +792,7 @@ const InquiryPage: React.FC = () => {
         );
       }
 
-      return responseData.bookingId || bookingId;
+      return responseData.bookingId;
     } catch (error) {
       console.error("Error saving booking:", error);
       throw error;
@@ -1080,6 +1138,7 @@ const InquiryPage: React.FC = () => {
         <Grid item xs={12} sm={4}>
           <ReservationDatePicker
             value={reservationDetails.bookingDate}
+            unavailableDates={unavailableDates}
             onChange={(value) =>
               setReservationDetails((prev) => ({
                 ...prev,
@@ -1139,6 +1198,14 @@ const InquiryPage: React.FC = () => {
             onAddOnChange={handleAddOnChange}
             passengers={reservationDetails.passengers}
           />
+          {quote && (
+            <Box sx={{ mt: 2, display: "flex", justifyContent: "space-between" }}>
+              <Typography variant="subtitle1">Estimated total</Typography>
+              <Typography variant="subtitle1" sx={{ fontWeight: "bold" }}>
+                RM {quote.total.toFixed(2)}
+              </Typography>
+            </Box>
+          )}
         </Grid>
       </Grid>
 
@@ -1159,6 +1226,7 @@ const InquiryPage: React.FC = () => {
             value={otherOptions.alternativeDate1}
             onChange={handleDateChange("alternativeDate1")}
             mainBookingDate={reservationDetails.bookingDate}
+            unavailableDates={unavailableDates}
           />
         </Grid>
         <Grid item xs={12} sm={6}>
@@ -1167,6 +1235,7 @@ const InquiryPage: React.FC = () => {
             value={otherOptions.alternativeDate2}
             onChange={handleDateChange("alternativeDate2")}
             mainBookingDate={reservationDetails.bookingDate}
+            unavailableDates={unavailableDates}
           />
         </Grid>
         <Grid item xs={12}>
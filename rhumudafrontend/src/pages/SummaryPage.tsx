@@ -38,6 +38,7 @@ import HourglassEmptyIcon from "@mui/icons-material/HourglassEmpty";
 import ErrorAlert from "../components/ErrorAlert/ErrorAlert";
 import { getErrorConfig } from "../utils/errorUtils";
 import { API_CONFIG, getApiUrl } from "../config/api";
+import { IDEMPOTENCY_HEADER, newIdempotencyKey } from "../utils/idempotency";
 
 // Import interfaces from InquiryPage
 interface CustomerInfo {
@@ -138,7 +139,6 @@ interface BookingData {
   packageDetails: {
     id: number;
     name: string;
-    description: string;
     basePrice: number;
     maxCapacity: number;
     durationMinutes: number;
@@ -159,6 +159,7 @@ interface BookingData {
     price: number;
     perPerson: boolean;
   }>;
+  quotedTotal: number | null;
   createdAt: string;
   updatedAt: string;
 }
@@ -187,6 +188,8 @@ const SummaryPage: React.FC = () => {
   const [showSuccessAlert, setShowSuccessAlert] = useState(false);
   const [retryCount, setRetryCount] = useState(0);
   const [isInitialLoad, setIsInitialLoad] = useState(true);
+  // Shared by overlapping clicks, replaced once an attempt has an answer
+  const submitKeyRef = React.useRef<string>(newIdempotencyKey());
 
   const [snackbar, setSnackbar] = useState<{
     open: boolean;
@@ -488,9 +491,11 @@ const SummaryPage: React.FC = () => {
           method: "PUT",
           headers: {
             "Content-Type": "application/json",
+            [IDEMPOTENCY_HEADER]: submitKeyRef.current,
           },
         }
       );
+      submitKeyRef.current = newIdempotencyKey();
 
       if (!response.ok) {
         const errorData = await response.json();
@@ -1072,6 +1077,11 @@ const SummaryPage: React.FC = () => {
                 }}
               >
                 MYR {(() => {
+                  // Prefer the total priced by the server when the booking was saved
+                  if (booking?.quotedTotal != null) {
+                    return Number(booking.quotedTotal).toFixed(2);
+                  }
+
                   const hasFixedPrice = selectedPackage?.priceTiers.some(
                     (tier) => tier.type === "FIXED"
                   );
@@ -0,0 +1,34 @@
+import dayjs from "dayjs";
+import { API_CONFIG, getApiUrl } from "../config/api";
+
+interface AvailabilityDay {
+  date: string;
+  remainingSeats: number | null;
+  available: boolean;
+}
+
+// Returns the dates (YYYY-MM-DD) in the next three months without room for the given passengers
+export const fetchUnavailableDates = async (
+  packageId: string,
+  jettyPointId: string,
+  passengers: number
+): Promise<Set<string>> => {
+  const params = new URLSearchParams({
+    from: dayjs().format("YYYY-MM-DD"),
+    to: dayjs().add(3, "month").format("YYYY-MM-DD"),
+    passengers: String(Math.max(passengers, 1)),
+  });
+  if (jettyPointId) {
+    params.set("jettyPointId", jettyPointId);
+  }
+
+  const response = await fetch(
+    `${getApiUrl(API_CONFIG.ENDPOINTS.PACKAGES)}/${packageId}/availability?${params}`
+  );
+  if (!response.ok) {
+    throw new Error("Failed to load availability");
+  }
+
+  const days: AvailabilityDay[] = await response.json();
+  return new Set(days.filter((day) => !day.available).map((day) => day.date));
+};
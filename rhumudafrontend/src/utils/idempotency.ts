@@ -0,0 +1,10 @@
+// Header the server uses to recognise repeated create and submit requests
+export const IDEMPOTENCY_HEADER = "Idempotency-Key";
+
+export const newIdempotencyKey = (): string => {
+  // randomUUID is only available in secure contexts
+  if (typeof crypto !== "undefined" && typeof crypto.randomUUID === "function") {
+    return crypto.randomUUID();
+  }
+  return `${Date.now().toString(36)}-${Math.random().toString(36).slice(2)}${Math.random().toString(36).slice(2)}`;
+};
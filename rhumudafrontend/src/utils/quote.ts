@@ -0,0 +1,28 @@
+import { API_CONFIG, getApiUrl } from "../config/api";
+
+export interface Quote {
+  packageId: number;
+  passengers: number;
+  packageTotal: number;
+  addOnsTotal: number;
+  total: number;
+}
+
+// Prices a package, passenger count and add-ons without saving anything
+export const fetchQuote = async (
+  packageId: string,
+  passengers: number,
+  addOns: string[],
+  signal?: AbortSignal
+): Promise<Quote> => {
+  const response = await fetch(getApiUrl(API_CONFIG.ENDPOINTS.QUOTES), {
+    method: "POST",
+    headers: { "Content-Type": "application/json" },
+    body: JSON.stringify({ packageId, passengers, addOns }),
+    signal,
+  });
+  if (!response.ok) {
+    throw new Error("Failed to load quote");
+  }
+  return response.json();
+};
@@ -0,0 +1,47 @@
+package com.rhumuda_new.rhumudasystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+/**
+ * Sizes the Hikari pool in production with HikariCP's rule of thumb, {@code cores * 2 + 1}. That is
+ * enough connections to keep every core busy while others wait on disk or network; more only queue
+ * inside MySQL.
+ * <p>
+ * The rule uses this host's core count, which matches the database host when they are the same size.
+ * A positive {@code app.datasource.pool-size} replaces it, and an explicit
+ * {@code spring.datasource.hikari.maximum-pool-size} (as in the virtual profile) is left alone.
+ */
+@Configuration
+@Profile("prod")
+public class PoolSizingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PoolSizingConfig.class);
+
+    @Bean
+    static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && !environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+                    int configured = environment.getProperty("app.datasource.pool-size", Integer.class, 0);
+                    int size = configured > 0 ? configured : poolSize(Runtime.getRuntime().availableProcessors());
+                    dataSource.setMaximumPoolSize(size);
+                    logger.info("JDBC pool size set to {}", size);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static int poolSize(int cores) {
+        return cores * 2 + 1;
+    }
+}
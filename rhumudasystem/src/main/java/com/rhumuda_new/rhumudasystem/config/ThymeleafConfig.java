@@ -1,44 +1,54 @@
 package com.rhumuda_new.rhumudasystem.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ResourceLoader;
+import org.thymeleaf.cache.StandardCacheManager;
 import org.thymeleaf.spring6.SpringTemplateEngine;
-import org.thymeleaf.templatemode.TemplateMode;
-import org.thymeleaf.templateresolver.FileTemplateResolver;
+import org.thymeleaf.spring6.templateresolver.SpringResourceTemplateResolver;
 import org.thymeleaf.templateresolver.ITemplateResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 @Configuration
 public class ThymeleafConfig {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(ThymeleafConfig.class);
-    
-    private final ResourceLoader resourceLoader;
 
-    public ThymeleafConfig(ResourceLoader resourceLoader) {
-        this.resourceLoader = resourceLoader;
+    private final ThymeleafProperties properties;
+    private final Duration cacheTtl;
+    private final int cacheMaxSize;
+
+    public ThymeleafConfig(ThymeleafProperties properties,
+                           @Value("${app.thymeleaf.cache-ttl:PT1H}") Duration cacheTtl,
+                           @Value("${app.thymeleaf.cache-max-size:100}") int cacheMaxSize) {
+        this.properties = properties;
+        this.cacheTtl = cacheTtl;
+        this.cacheMaxSize = cacheMaxSize;
     }
 
+    /**
+     * Resolves templates as Spring resources (classpath:/templates/ by default), so they load the same
+     * from a packaged jar as from target/classes. With spring.thymeleaf.cache=true (prod) a parsed
+     * template is kept for the TTL; with it off (dev) every render re-reads the file, so edits show up
+     * as soon as the resources are rebuilt.
+     */
     @Bean
     public ITemplateResolver templateResolver() {
-        FileTemplateResolver templateResolver = new FileTemplateResolver();
-        
-        try {
-            String templatePath = resourceLoader.getResource("classpath:/templates/").getFile().getAbsolutePath();
-            logger.info("Template path: {}", templatePath);
-            templateResolver.setPrefix(templatePath + "/");
-        } catch (Exception e) {
-            logger.error("Error setting template path", e);
-        }
-        
-        templateResolver.setSuffix(".html");
-        templateResolver.setTemplateMode(TemplateMode.HTML);
-        templateResolver.setCharacterEncoding("UTF-8");
+        SpringResourceTemplateResolver templateResolver = new SpringResourceTemplateResolver();
+        templateResolver.setPrefix(properties.getPrefix());
+        templateResolver.setSuffix(properties.getSuffix());
+        templateResolver.setTemplateMode(properties.getMode());
+        templateResolver.setCharacterEncoding(properties.getEncoding().name());
         templateResolver.setCheckExistence(true);
-        templateResolver.setCacheable(false);
-        
+        templateResolver.setCacheable(properties.isCache());
+        templateResolver.setCacheTTLMs(cacheTtl.toMillis());
+
+        logger.info("Templates from {} (cache {})", properties.getPrefix(),
+            properties.isCache() ? "on, TTL " + cacheTtl : "off");
         return templateResolver;
     }
 
@@ -47,6 +57,11 @@ public class ThymeleafConfig {
         SpringTemplateEngine templateEngine = new SpringTemplateEngine();
         templateEngine.setTemplateResolver(templateResolver);
         templateEngine.setEnableSpringELCompiler(true);
+
+        // Bounded, so a flood of distinct template names cannot grow the cache without limit
+        StandardCacheManager cacheManager = new StandardCacheManager();
+        cacheManager.setTemplateCacheMaxSize(cacheMaxSize);
+        templateEngine.setCacheManager(cacheManager);
         return templateEngine;
     }
 }
@@ -1,22 +1,21 @@
 package com.rhumuda_new.rhumudasystem.controller;
 
-import com.rhumuda_new.rhumudasystem.entity.AddOn;
-import com.rhumuda_new.rhumudasystem.repository.AddOnRepository;
+import com.rhumuda_new.rhumudasystem.service.CatalogSnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/addons")
 public class AddOnController {
 
     @Autowired
-    private AddOnRepository addOnRepository;
+    private CatalogSnapshotService catalogSnapshotService;
 
     @GetMapping
-    public List<AddOn> getAllActiveAddOns() {
-        return addOnRepository.findByIsActiveTrue();
+    public ResponseEntity<byte[]> getAllActiveAddOns() {
+        return CatalogResponses.of(catalogSnapshotService.current().getAddOns());
     }
 }
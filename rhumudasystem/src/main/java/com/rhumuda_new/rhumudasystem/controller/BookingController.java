@@ -1,55 +1,184 @@
 package com.rhumuda_new.rhumudasystem.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rhumuda_new.rhumudasystem.dto.ApiError;
+import com.rhumuda_new.rhumudasystem.dto.BookingConflictDTO;
 import com.rhumuda_new.rhumudasystem.dto.BookingDTO;
-import com.rhumuda_new.rhumudasystem.entity.AddOn;
+import com.rhumuda_new.rhumudasystem.dto.BookingPageDTO;
 import com.rhumuda_new.rhumudasystem.entity.Booking;
 import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
-import com.rhumuda_new.rhumudasystem.repository.AddOnRepository;
+import com.rhumuda_new.rhumudasystem.exception.BookingStateException;
+import com.rhumuda_new.rhumudasystem.exception.CapacityExceededException;
+import com.rhumuda_new.rhumudasystem.exception.InvalidImportException;
+import com.rhumuda_new.rhumudasystem.exception.InvalidPatchException;
+import com.rhumuda_new.rhumudasystem.exception.UnresolvedReferenceException;
+import com.rhumuda_new.rhumudasystem.repository.BookingCursor;
 import com.rhumuda_new.rhumudasystem.repository.BookingRepository;
-import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
-import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import com.rhumuda_new.rhumudasystem.repository.BookingSearchFilter;
+import com.rhumuda_new.rhumudasystem.repository.BookingSummary;
+import com.rhumuda_new.rhumudasystem.service.BookingAssemblyService;
+import com.rhumuda_new.rhumudasystem.service.BookingIdGenerator;
 import com.rhumuda_new.rhumudasystem.service.BookingService;
-import com.rhumuda_new.rhumudasystem.service.EmailService;
+import com.rhumuda_new.rhumudasystem.service.BookingTransferService;
+import com.rhumuda_new.rhumudasystem.service.IdempotentRequests;
 
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/bookings")
 public class BookingController {
     private static final Logger logger = LoggerFactory.getLogger(BookingController.class);
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
 
     @Autowired
     private BookingRepository bookingRepository;
 
     @Autowired
-    private JettyPointRepository jettyPointRepository;
+    private BookingAssemblyService bookingAssemblyService;
 
     @Autowired
-    private PackageRepository packageRepository;
+    private BookingService bookingService;
 
     @Autowired
-    private AddOnRepository addOnRepository;
+    private BookingIdGenerator bookingIdGenerator;
 
     @Autowired
-    private EmailService emailService;
+    private IdempotentRequests idempotentRequests;
 
     @Autowired
-    private BookingService bookingService;
+    private BookingTransferService bookingTransferService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PostMapping("/ids")
+    public ResponseEntity<?> allocateBookingId() {
+        return ResponseEntity.ok(Map.of("bookingId", bookingIdGenerator.nextBookingId()));
+    }
+
+    /**
+     * Admin booking search, ordered by booking date. Pass the returned {@code nextCursor} as
+     * {@code cursor} to get the next page; {@code email} and {@code phone} match by prefix.
+     */
+    @GetMapping
+    public ResponseEntity<?> searchBookings(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long jettyPointId,
+            @RequestParam(required = false) Long packageId,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String phone,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity
+                .badRequest()
+                .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Invalid limit", "Limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+
+        BookingSearchFilter filter;
+        BookingCursor after;
+        try {
+            filter = new BookingSearchFilter(
+                status != null ? BookingStatus.valueOf(status.toUpperCase()) : null,
+                from, to, jettyPointId, packageId, blankToNull(email), blankToNull(phone));
+            after = cursor != null ? BookingCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .badRequest()
+                .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Invalid search", e.getMessage()));
+        }
+
+        // One extra row tells us whether there is another page
+        List<BookingSummary> rows = bookingRepository.search(filter, after, limit + 1);
+        if (rows.size() <= limit) {
+            return ResponseEntity.ok(new BookingPageDTO(rows, null));
+        }
+        List<BookingSummary> page = rows.subList(0, limit);
+        return ResponseEntity.ok(new BookingPageDTO(page, BookingCursor.after(page.get(limit - 1)).encode()));
+    }
+
+    /**
+     * Streams every booking dated in {@code [from, to]} as CSV or NDJSON ({@code format=csv|ndjson}).
+     * Rows are written as they are read, so memory use does not depend on the size of the export.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format) {
+        StreamingResponseBody body;
+        MediaType contentType;
+        switch (format.toLowerCase()) {
+            case "csv" -> {
+                body = out -> bookingTransferService.writeCsv(from, to, out);
+                contentType = TEXT_CSV;
+            }
+            case "ndjson" -> {
+                body = out -> bookingTransferService.writeNdjson(from, to, out);
+                contentType = MediaType.APPLICATION_NDJSON;
+            }
+            default -> {
+                // Streaming endpoints only return stream bodies, so the error is written out here
+                ApiError error = new ApiError(HttpStatus.BAD_REQUEST.value(), "Invalid format", "Format must be csv or ndjson");
+                return ResponseEntity
+                    .badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+            }
+        }
+
+        String filename = "bookings" + (from != null ? "-" + from : "") + (to != null ? "-to-" + to : "") + "." + format.toLowerCase();
+        return ResponseEntity.ok()
+            .contentType(contentType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+            .body(body);
+    }
+
+    /**
+     * Imports NDJSON bookings in the export format. Nothing is saved unless every line is valid.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importBookings(InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(Map.of("imported", bookingTransferService.importNdjson(body)));
+        } catch (InvalidImportException e) {
+            return ResponseEntity
+                .badRequest()
+                .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Validation failed", e.getErrors()));
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Booking import rejected: {}", e.getMostSpecificCause().getMessage());
+            return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ApiError(HttpStatus.CONFLICT.value(), "Import rejected",
+                    "A booking ID already exists, or a jetty point, package or add-on does not"));
+        }
+    }
 
     @GetMapping("/{bookingId}")
     public ResponseEntity<?> getBooking(@PathVariable String bookingId) {
@@ -63,7 +192,7 @@ public class BookingController {
                     .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Invalid booking ID", "Booking ID cannot be empty"));
             }
 
-            var booking = bookingRepository.findByBookingId(bookingId.trim());
+            var booking = bookingRepository.findViewByBookingId(bookingId.trim());
             
             if (booking.isEmpty()) {
                 logger.error("Booking not found with ID: {}", bookingId);
@@ -87,8 +216,17 @@ public class BookingController {
         }
     }
 
+    /**
+     * Creates a booking. Repeats with the same {@code Idempotency-Key} get the first response back.
+     */
     @PostMapping
-    public ResponseEntity<?> createBooking(@Valid @RequestBody BookingDTO bookingDTO, BindingResult bindingResult) {
+    public ResponseEntity<?> createBooking(@Valid @RequestBody BookingDTO bookingDTO, BindingResult bindingResult,
+                                           @RequestHeader(value = IdempotentRequests.HEADER, required = false) String idempotencyKey) {
+        return idempotentRequests.execute("POST /api/bookings", idempotencyKey, bookingDTO,
+            () -> doCreateBooking(bookingDTO, bindingResult));
+    }
+
+    private ResponseEntity<?> doCreateBooking(BookingDTO bookingDTO, BindingResult bindingResult) {
         try {
             // Check for validation errors
             if (bindingResult.hasErrors()) {
@@ -101,59 +239,39 @@ public class BookingController {
                     .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Validation failed", errors));
             }
 
-            // Create new booking entity
-            Booking booking = new Booking();
-
-            // Set basic fields
-            booking.setBookingId(bookingDTO.getBookingId());
-            booking.setStatus(BookingStatus.valueOf(bookingDTO.getStatus()));
-            booking.setFirstName(bookingDTO.getFirstName());
-            booking.setLastName(bookingDTO.getLastName());
-            booking.setPhoneNumber(bookingDTO.getPhoneNumber());
-            booking.setEmail(bookingDTO.getEmail());
-            booking.setAddressLine1(bookingDTO.getAddressLine1());
-            booking.setAddressLine2(bookingDTO.getAddressLine2());
-            booking.setPostalCode(bookingDTO.getPostalCode());
-            booking.setCity(bookingDTO.getCity());
-            booking.setCountry(bookingDTO.getCountry());
-
-            // Set entity relationships
-            booking.setJettyPoint(jettyPointRepository.findById(Long.parseLong(bookingDTO.getJettyPoint()))
-                .orElseThrow(() -> new RuntimeException("JettyPoint not found")));
-
-            booking.setPackageDetails(packageRepository.findById(Long.parseLong(bookingDTO.getPackageId()))
-                .orElseThrow(() -> new RuntimeException("Package not found")));
-
-            // Set dates and passengers
-            booking.setBookingDate(bookingDTO.getBookingDate());
-            booking.setPassengers(bookingDTO.getPassengers());
-            booking.setAlternativeDate1(bookingDTO.getAlternativeDate1());
-            booking.setAlternativeDate2(bookingDTO.getAlternativeDate2());
-            booking.setSpecialRemarks(bookingDTO.getSpecialRemarks());
-
-            // Set system fields
-            booking.setCreatedAt(LocalDateTime.now());
-            booking.setUpdatedAt(LocalDateTime.now());
-
-            // Handle add-ons if present
-            if (bookingDTO.getAddOns() != null && !bookingDTO.getAddOns().isEmpty()) {
-                Set<AddOn> addOns = new HashSet<>();
-                for (String addOnId : bookingDTO.getAddOns()) {
-                    AddOn addOn = addOnRepository.findById(Long.parseLong(addOnId))
-                        .orElseThrow(() -> new RuntimeException("AddOn not found: " + addOnId));
-                    addOns.add(addOn);
-                }
-                booking.setAddOns(addOns);
+            // Allocate the booking ID when the client did not reserve one
+            if (bookingDTO.getBookingId() == null || bookingDTO.getBookingId().trim().isEmpty()) {
+                bookingDTO.setBookingId(bookingIdGenerator.nextBookingId());
             }
 
-            // Save the booking
-            Booking savedBooking = bookingRepository.save(booking);
+            // Create new booking entity with all references resolved in one pass
+            Booking booking = bookingAssemblyService.assemble(bookingDTO);
+
+            // Take the seats and save the booking
+            Booking savedBooking = bookingService.createBooking(booking);
             return ResponseEntity.ok(savedBooking);
 
+        } catch (CapacityExceededException e) {
+            return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ApiError(HttpStatus.CONFLICT.value(), "Not enough seats available", e.getMessage()));
+        } catch (DataIntegrityViolationException e) {
+            if (bookingRepository.existsByBookingId(bookingDTO.getBookingId())) {
+                return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(new ApiError(HttpStatus.CONFLICT.value(), "Booking ID already exists", "A booking with ID " + bookingDTO.getBookingId() + " already exists"));
+            }
+            return ResponseEntity
+                .badRequest()
+                .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Error creating booking", e.getMostSpecificCause().getMessage()));
         } catch (NumberFormatException e) {
             return ResponseEntity
                 .badRequest()
                 .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Invalid ID format", e.getMessage()));
+        } catch (UnresolvedReferenceException e) {
+            return ResponseEntity
+                .badRequest()
+                .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Error creating booking", e.getErrors()));
         } catch (RuntimeException e) {
             return ResponseEntity
                 .badRequest()
@@ -171,52 +289,8 @@ public class BookingController {
         try {
             logger.info("Updating booking with ID: {}", bookingId);
             
-            // Find existing booking
-            Booking existingBooking = bookingRepository.findByBookingId(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
-
-            // Update fields
-            existingBooking.setStatus(BookingStatus.valueOf(bookingDTO.getStatus()));
-            existingBooking.setFirstName(bookingDTO.getFirstName());
-            existingBooking.setLastName(bookingDTO.getLastName());
-            existingBooking.setPhoneNumber(bookingDTO.getPhoneNumber());
-            existingBooking.setEmail(bookingDTO.getEmail());
-            existingBooking.setAddressLine1(bookingDTO.getAddressLine1());
-            existingBooking.setAddressLine2(bookingDTO.getAddressLine2());
-            existingBooking.setPostalCode(bookingDTO.getPostalCode());
-            existingBooking.setCity(bookingDTO.getCity());
-            existingBooking.setCountry(bookingDTO.getCountry());
-
-            // Update relationships
-            existingBooking.setJettyPoint(jettyPointRepository.findById(Long.parseLong(bookingDTO.getJettyPoint()))
-                .orElseThrow(() -> new RuntimeException("JettyPoint not found")));
-
-            existingBooking.setPackageDetails(packageRepository.findById(Long.parseLong(bookingDTO.getPackageId()))
-                .orElseThrow(() -> new RuntimeException("Package not found")));
-
-            // Update dates and passengers
-            existingBooking.setBookingDate(bookingDTO.getBookingDate());
-            existingBooking.setPassengers(bookingDTO.getPassengers());
-            existingBooking.setAlternativeDate1(bookingDTO.getAlternativeDate1());
-            existingBooking.setAlternativeDate2(bookingDTO.getAlternativeDate2());
-            existingBooking.setSpecialRemarks(bookingDTO.getSpecialRemarks());
-
-            // Update system fields
-            existingBooking.setUpdatedAt(LocalDateTime.now());
-
-            // Update add-ons
-            if (bookingDTO.getAddOns() != null) {
-                Set<AddOn> addOns = new HashSet<>();
-                for (String addOnId : bookingDTO.getAddOns()) {
-                    AddOn addOn = addOnRepository.findById(Long.parseLong(addOnId))
-                        .orElseThrow(() -> new RuntimeException("AddOn not found: " + addOnId));
-                    addOns.add(addOn);
-                }
-                existingBooking.setAddOns(addOns);
-            }
-
-            // Save the updated booking
-            Booking updatedBooking = bookingRepository.save(existingBooking);
+            // Update fields and relationships, moving the seats if needed
+            Booking updatedBooking = bookingService.updateBooking(bookingId, bookingDTO);
             logger.info("Successfully updated booking with ID: {}", bookingId);
             return ResponseEntity.ok(updatedBooking);
 
@@ -225,6 +299,19 @@ public class BookingController {
             return ResponseEntity
                 .badRequest()
                 .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Invalid ID format", e.getMessage()));
+        } catch (UnresolvedReferenceException e) {
+            logger.error("Unknown references while updating booking {}: {}", bookingId, e.getErrors());
+            return ResponseEntity
+                .badRequest()
+                .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Error updating booking", e.getErrors()));
+        } catch (CapacityExceededException e) {
+            logger.warn("No room to update booking {}: {}", bookingId, e.getMessage());
+            return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ApiError(HttpStatus.CONFLICT.value(), "Not enough seats available", e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Concurrent update of booking {}: {}", bookingId, e.getMessage());
+            return conflict(bookingId);
         } catch (RuntimeException e) {
             logger.error("Error updating booking: {}", bookingId, e);
             return ResponseEntity
@@ -238,22 +325,62 @@ public class BookingController {
         }
     }
 
+    /**
+     * Updates only the fields in the body. Seats, package, jetty point, dates and add-ons are changed
+     * with PUT. Include {@code version} to apply the patch only if nobody has changed the booking since.
+     */
+    @PatchMapping("/{bookingId}")
+    public ResponseEntity<?> patchBooking(@PathVariable String bookingId, @RequestBody Map<String, Object> patch) {
+        try {
+            return ResponseEntity.ok(bookingService.patchBooking(bookingId, patch));
+        } catch (InvalidPatchException e) {
+            return ResponseEntity
+                .badRequest()
+                .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Validation failed", e.getErrors()));
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(bookingId);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new ApiError(HttpStatus.NOT_FOUND.value(), "Booking not found", "No booking found with ID: " + bookingId));
+        }
+    }
+
+    /**
+     * Submits a booking. Repeats with the same {@code Idempotency-Key} get the first response back.
+     */
     @PutMapping("/{bookingId}/submit")
-    public ResponseEntity<?> submitBooking(@PathVariable String bookingId) {
+    public ResponseEntity<?> submitBooking(@PathVariable String bookingId,
+                                           @RequestHeader(value = IdempotentRequests.HEADER, required = false) String idempotencyKey) {
+        return idempotentRequests.execute("PUT /api/bookings/" + bookingId + "/submit", idempotencyKey, null,
+            () -> doSubmitBooking(bookingId));
+    }
+
+    private ResponseEntity<?> doSubmitBooking(String bookingId) {
         try {
-            // Get booking data
-            BookingDTO booking = bookingService.getBookingById(bookingId);
-            
-            // Update booking status to PENDING
-            bookingService.updateBookingStatus(bookingId, "PENDING");
-            
-            // Send emails
-            emailService.sendBookingEmails(booking);
-            
+            // Update booking status to PENDING and queue the emails; they are sent after commit
+            bookingService.submitBooking(bookingId);
+
             return ResponseEntity.ok().build();
+        } catch (BookingStateException e) {
+            return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ApiError(HttpStatus.CONFLICT.value(), "Booking cannot be submitted", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ApiError(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to submit booking", e.getMessage()));
         }
     }
+
+    private ResponseEntity<?> conflict(String bookingId) {
+        return ResponseEntity
+            .status(HttpStatus.CONFLICT)
+            .body(new BookingConflictDTO(HttpStatus.CONFLICT.value(), "Booking was changed by someone else",
+                "Review the current booking and apply your changes again",
+                bookingRepository.findViewByBookingId(bookingId).orElse(null)));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
 }
\ No newline at end of file
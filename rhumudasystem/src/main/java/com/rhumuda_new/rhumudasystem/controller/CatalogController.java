@@ -0,0 +1,28 @@
+package com.rhumuda_new.rhumudasystem.controller;
+
+import com.rhumuda_new.rhumudasystem.service.CatalogCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/catalog")
+public class CatalogController {
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @GetMapping("/cache")
+    public CatalogCache.Stats getCacheStats() {
+        return catalogCache.getStats();
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> invalidateCache() {
+        catalogCache.invalidate();
+        return ResponseEntity.noContent().build();
+    }
+}
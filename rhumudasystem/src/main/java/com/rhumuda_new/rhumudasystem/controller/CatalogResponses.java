@@ -0,0 +1,24 @@
+package com.rhumuda_new.rhumudasystem.controller;
+
+import com.rhumuda_new.rhumudasystem.service.CatalogSnapshot;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+final class CatalogResponses {
+
+    private CatalogResponses() {
+    }
+
+    /**
+     * Writes pre-rendered catalog JSON. Because the response carries an ETag, Spring answers
+     * a matching If-None-Match with 304 without writing the body.
+     */
+    static ResponseEntity<byte[]> of(CatalogSnapshot.RenderedJson json) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(json.etag())
+                .body(json.body());
+    }
+}
@@ -1,22 +1,21 @@
 package com.rhumuda_new.rhumudasystem.controller;
 
-import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
-import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.service.CatalogSnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/jettypoints")
 public class JettyPointController {
 
     @Autowired
-    private JettyPointRepository jettyPointRepository;
+    private CatalogSnapshotService catalogSnapshotService;
 
     @GetMapping
-    public List<JettyPoint> getAllActiveJettyPoints() {
-        return jettyPointRepository.findByIsActiveTrue();
+    public ResponseEntity<byte[]> getAllActiveJettyPoints() {
+        return CatalogResponses.of(catalogSnapshotService.current().getJettyPoints());
     }
-} 
\ No newline at end of file
+}
@@ -1,7 +1,7 @@
 package com.rhumuda_new.rhumudasystem.controller;
 
 import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
-import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.service.CatalogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -11,11 +11,11 @@ import org.springframework.web.bind.annotation.*;
 public class PackageCategoryController {
 
     @Autowired
-    private PackageCategoryRepository packageCategoryRepository;
+    private CatalogService catalogService;
 
     @GetMapping("/{id}")
     public ResponseEntity<PackageCategory> getCategoryById(@PathVariable Long id) {
-        return packageCategoryRepository.findById(id)
+        return catalogService.getCategory(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
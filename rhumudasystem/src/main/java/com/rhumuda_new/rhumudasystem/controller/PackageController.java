@@ -1,30 +1,74 @@
 package com.rhumuda_new.rhumudasystem.controller;
 
-import com.rhumuda_new.rhumudasystem.entity.Package;
-import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import com.rhumuda_new.rhumudasystem.dto.ApiError;
+import com.rhumuda_new.rhumudasystem.service.AvailabilityService;
+import com.rhumuda_new.rhumudasystem.service.CatalogService;
+import com.rhumuda_new.rhumudasystem.service.CatalogSnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 
 @RestController
 @RequestMapping("/api/packages")
 public class PackageController {
 
+    private static final int MAX_CALENDAR_DAYS = 366;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private CatalogService catalogService;
+
     @Autowired
-    private PackageRepository packageRepository;
+    private AvailabilityService availabilityService;
 
     @GetMapping("/category/{categoryId}")
-    public List<Package> getPackagesByCategory(@PathVariable Long categoryId) {
-        System.out.println("Received request for category: " + categoryId);
-        List<Package> packages = packageRepository.findByCategoryIdAndIsActiveTrue(categoryId);
-        System.out.println("Found " + packages.size() + " packages for category " + categoryId);
-        packages.forEach(p -> {
-            System.out.println("Package details:");
-            System.out.println("  ID: " + p.getId());
-            System.out.println("  Name: " + p.getName());
-            System.out.println("  Category: " + p.getCategoryId());
-            System.out.println("  Active: " + p.getIsActive());
-        });
-        return packages;
+    public ResponseEntity<byte[]> getPackagesByCategory(@PathVariable Long categoryId) {
+        return CatalogResponses.of(catalogSnapshotService.current().getPackages(categoryId));
+    }
+
+    /**
+     * Per-day availability for {@code [from, to]}, defaulting to the next three months. Without
+     * {@code jettyPointId}, a day is available if any active jetty point has room.
+     */
+    @GetMapping("/{packageId}/availability")
+    public ResponseEntity<?> getAvailability(
+            @PathVariable Long packageId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long jettyPointId,
+            @RequestParam(defaultValue = "1") int passengers) {
+        if (!catalogService.hasPackage(packageId)) {
+            return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new ApiError(HttpStatus.NOT_FOUND.value(), "Package not found", "No package found with ID: " + packageId));
+        }
+        if (jettyPointId != null && catalogService.getJettyPointName(jettyPointId).isEmpty()) {
+            return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new ApiError(HttpStatus.NOT_FOUND.value(), "Jetty point not found", "No jetty point found with ID: " + jettyPointId));
+        }
+
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusMonths(3);
+        if (end.isBefore(start) || ChronoUnit.DAYS.between(start, end) >= MAX_CALENDAR_DAYS) {
+            return ResponseEntity
+                .badRequest()
+                .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Invalid date range",
+                    "'to' must be on or after 'from' and at most " + MAX_CALENDAR_DAYS + " days later"));
+        }
+        if (passengers < 1) {
+            return ResponseEntity
+                .badRequest()
+                .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Invalid passengers", "Number of passengers must be at least 1"));
+        }
+
+        return ResponseEntity.ok(availabilityService.getCalendar(packageId, jettyPointId, start, end, passengers));
     }
-} 
\ No newline at end of file
+}
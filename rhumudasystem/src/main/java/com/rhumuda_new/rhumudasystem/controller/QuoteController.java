@@ -0,0 +1,67 @@
+package com.rhumuda_new.rhumudasystem.controller;
+
+import com.rhumuda_new.rhumudasystem.dto.ApiError;
+import com.rhumuda_new.rhumudasystem.dto.QuoteRequestDTO;
+import com.rhumuda_new.rhumudasystem.exception.PriceUnavailableException;
+import com.rhumuda_new.rhumudasystem.exception.UnresolvedReferenceException;
+import com.rhumuda_new.rhumudasystem.service.PricingService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Live price previews for the inquiry page. Quotes come from the cached price list, so this
+ * endpoint does not touch the database and nothing is persisted.
+ */
+@RestController
+@RequestMapping("/api/quotes")
+public class QuoteController {
+
+    @Autowired
+    private PricingService pricingService;
+
+    @PostMapping
+    public ResponseEntity<?> quote(@Valid @RequestBody QuoteRequestDTO quoteRequest, BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            List<String> errors = bindingResult.getFieldErrors()
+                .stream()
+                .map(FieldError::getDefaultMessage)
+                .collect(Collectors.toList());
+            return ResponseEntity
+                .badRequest()
+                .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Validation failed", errors));
+        }
+
+        try {
+            Long packageId = Long.parseLong(quoteRequest.getPackageId());
+            List<Long> addOnIds = new ArrayList<>();
+            if (quoteRequest.getAddOns() != null) {
+                for (String addOnId : quoteRequest.getAddOns()) {
+                    addOnIds.add(Long.parseLong(addOnId));
+                }
+            }
+            return ResponseEntity.ok(pricingService.quote(packageId, quoteRequest.getPassengers(), addOnIds));
+
+        } catch (NumberFormatException e) {
+            return ResponseEntity
+                .badRequest()
+                .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Invalid ID format", e.getMessage()));
+        } catch (UnresolvedReferenceException e) {
+            return ResponseEntity
+                .badRequest()
+                .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Error creating quote", e.getErrors()));
+        } catch (PriceUnavailableException e) {
+            return ResponseEntity
+                .badRequest()
+                .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Price unavailable", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.rhumuda_new.rhumudasystem.dto;
+
+import java.time.LocalDate;
+
+public class AvailabilityDayDTO {
+    private LocalDate date;
+
+    // Null when the package has no max capacity
+    private Integer remainingSeats;
+
+    private boolean available;
+
+    public AvailabilityDayDTO() {
+    }
+
+    public AvailabilityDayDTO(LocalDate date, Integer remainingSeats, boolean available) {
+        this.date = date;
+        this.remainingSeats = remainingSeats;
+        this.available = available;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Integer getRemainingSeats() {
+        return remainingSeats;
+    }
+
+    public void setRemainingSeats(Integer remainingSeats) {
+        this.remainingSeats = remainingSeats;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+}
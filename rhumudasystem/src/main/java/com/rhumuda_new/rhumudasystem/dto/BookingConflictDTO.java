@@ -0,0 +1,28 @@
+package com.rhumuda_new.rhumudasystem.dto;
+
+import com.rhumuda_new.rhumudasystem.repository.BookingView;
+
+/**
+ * 409 body for an update made against an out-of-date booking. Carries the booking as it is now, so
+ * the client can show it and reapply its change.
+ */
+public class BookingConflictDTO extends ApiError {
+    private BookingView current;
+
+    public BookingConflictDTO() {
+    }
+
+    public BookingConflictDTO(int status, String message, String error, BookingView current) {
+        super(status, message, error);
+        this.current = current;
+    }
+
+    // Getters and Setters
+    public BookingView getCurrent() {
+        return current;
+    }
+
+    public void setCurrent(BookingView current) {
+        this.current = current;
+    }
+}
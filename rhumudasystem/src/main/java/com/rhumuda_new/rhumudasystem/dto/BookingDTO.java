@@ -9,7 +9,7 @@ import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.Min;
 
 public class BookingDTO {
-    @NotBlank(message = "Booking ID is required")
+    // Optional on create; the server allocates one when it is blank
     private String bookingId;
 
     @NotBlank(message = "Status is required")
@@ -50,6 +50,9 @@ public class BookingDTO {
     @NotBlank(message = "Jetty point is required")
     private String jettyPoint;
 
+    // Resolved server-side so email rendering needs no lookup
+    private String jettyPointName;
+
     @NotNull(message = "Booking date is required")
     private LocalDate bookingDate;
 
@@ -70,6 +73,9 @@ public class BookingDTO {
     private LocalDate alternativeDate2;
     private String specialRemarks;
 
+    // Version the client last saw; when set, the update fails if the booking has changed since
+    private Long version;
+
     // Getters and Setters
     public String getBookingId() {
         return bookingId;
@@ -167,6 +173,14 @@ public class BookingDTO {
         this.jettyPoint = jettyPoint;
     }
 
+    public String getJettyPointName() {
+        return jettyPointName;
+    }
+
+    public void setJettyPointName(String jettyPointName) {
+        this.jettyPointName = jettyPointName;
+    }
+
     public LocalDate getBookingDate() {
         return bookingDate;
     }
@@ -238,4 +252,12 @@ public class BookingDTO {
     public void setSpecialRemarks(String specialRemarks) {
         this.specialRemarks = specialRemarks;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,37 @@
+package com.rhumuda_new.rhumudasystem.dto;
+
+import com.rhumuda_new.rhumudasystem.repository.BookingSummary;
+
+import java.util.List;
+
+public class BookingPageDTO {
+    private List<BookingSummary> items;
+
+    // Pass back as 'cursor' for the next page; null on the last page
+    private String nextCursor;
+
+    public BookingPageDTO() {
+    }
+
+    public BookingPageDTO(List<BookingSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<BookingSummary> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BookingSummary> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
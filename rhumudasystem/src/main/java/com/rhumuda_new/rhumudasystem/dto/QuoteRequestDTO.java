@@ -0,0 +1,43 @@
+package com.rhumuda_new.rhumudasystem.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class QuoteRequestDTO {
+    @NotBlank(message = "Package is required")
+    private String packageId;
+
+    @NotNull(message = "Number of passengers is required")
+    @Min(value = 1, message = "Number of passengers must be at least 1")
+    private Integer passengers;
+
+    private List<String> addOns;
+
+    // Getters and Setters
+    public String getPackageId() {
+        return packageId;
+    }
+
+    public void setPackageId(String packageId) {
+        this.packageId = packageId;
+    }
+
+    public Integer getPassengers() {
+        return passengers;
+    }
+
+    public void setPassengers(Integer passengers) {
+        this.passengers = passengers;
+    }
+
+    public List<String> getAddOns() {
+        return addOns;
+    }
+
+    public void setAddOns(List<String> addOns) {
+        this.addOns = addOns;
+    }
+}
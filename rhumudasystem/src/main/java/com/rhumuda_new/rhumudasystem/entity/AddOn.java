@@ -1,6 +1,7 @@
 package com.rhumuda_new.rhumudasystem.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -10,6 +11,7 @@ import java.math.BigDecimal;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
+@EntityListeners(CatalogChangeListener.class)
 @Table(name = "add_ons")
 public class AddOn {
     
@@ -1,15 +1,21 @@
 package com.rhumuda_new.rhumudasystem.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
+@DynamicUpdate
 @Table(name = "bookings")
 public class Booking {
+    // Pooled sequence (a one-row table on MySQL) so inserts can be batched; IDENTITY rules that out
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -66,6 +72,10 @@ public class Booking {
     private LocalDate alternativeDate2;
     private String specialRemarks;
 
+    // Pricing (null when the package had no price at the time)
+    @Column(name = "quoted_total", precision = 10, scale = 2)
+    private BigDecimal quotedTotal;
+
     // System Fields
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -73,6 +83,11 @@ public class Booking {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // Optimistic lock; every update bumps it, and a stale one fails with a conflict
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public enum BookingStatus {
         INCOMPLETE, PENDING, COMPLETE, CANCELLED
     }
@@ -238,6 +253,14 @@ public class Booking {
         this.specialRemarks = specialRemarks;
     }
 
+    public BigDecimal getQuotedTotal() {
+        return quotedTotal;
+    }
+
+    public void setQuotedTotal(BigDecimal quotedTotal) {
+        this.quotedTotal = quotedTotal;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -253,4 +276,12 @@ public class Booking {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.rhumuda_new.rhumudasystem.entity;
+
+import com.rhumuda_new.rhumudasystem.service.CatalogCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Invalidates the {@link CatalogCache} whenever a catalog entity is written.
+ *
+ * The cache is invalidated immediately and again after commit, so a reader that
+ * reloaded the old rows between flush and commit cannot keep them cached.
+ */
+public class CatalogChangeListener {
+
+    // Resolved lazily: JPA test slices run without the cache bean
+    @Autowired
+    private ObjectProvider<CatalogCache> catalogCacheProvider;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onCatalogChange(Object entity) {
+        CatalogCache catalogCache = catalogCacheProvider.getIfAvailable();
+        if (catalogCache == null) {
+            return;
+        }
+        catalogCache.invalidate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    catalogCache.invalidate();
+                }
+            });
+        }
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 @Entity
+@EntityListeners(CatalogChangeListener.class)
 @Table(name = "included_services")
 public class IncludedService {
     @Id
@@ -1,6 +1,7 @@
 package com.rhumuda_new.rhumudasystem.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -8,6 +9,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Table;
 
 @Entity
+@EntityListeners(CatalogChangeListener.class)
 @Table(name = "jetty_points")
 public class JettyPoint {
     
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 @Entity
+@EntityListeners(CatalogChangeListener.class)
 @Table(name = "packages")
 public class Package {
     @Id
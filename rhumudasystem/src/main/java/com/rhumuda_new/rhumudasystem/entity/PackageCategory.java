@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import java.util.List;
 
 @Entity
+@EntityListeners(CatalogChangeListener.class)
 @Table(name = "package_categories")
 public class PackageCategory {
     @Id
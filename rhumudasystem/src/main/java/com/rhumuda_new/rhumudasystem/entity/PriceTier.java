@@ -5,6 +5,7 @@ import java.math.BigDecimal;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 @Entity
+@EntityListeners(CatalogChangeListener.class)
 @Table(name = "price_tiers")
 public class PriceTier {
     @Id
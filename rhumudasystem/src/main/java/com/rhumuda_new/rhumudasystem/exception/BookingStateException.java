@@ -0,0 +1,27 @@
+package com.rhumuda_new.rhumudasystem.exception;
+
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+
+/**
+ * Thrown when a booking cannot move to a status from the one it is currently in, such as
+ * submitting a booking that was already submitted.
+ */
+public class BookingStateException extends RuntimeException {
+
+    private final BookingStatus currentStatus;
+    private final BookingStatus requestedStatus;
+
+    public BookingStateException(String bookingId, BookingStatus currentStatus, BookingStatus requestedStatus) {
+        super("Booking " + bookingId + " is " + currentStatus + " and cannot be moved to " + requestedStatus);
+        this.currentStatus = currentStatus;
+        this.requestedStatus = requestedStatus;
+    }
+
+    public BookingStatus getCurrentStatus() {
+        return currentStatus;
+    }
+
+    public BookingStatus getRequestedStatus() {
+        return requestedStatus;
+    }
+}
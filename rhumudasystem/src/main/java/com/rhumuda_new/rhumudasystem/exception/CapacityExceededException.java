@@ -0,0 +1,32 @@
+package com.rhumuda_new.rhumudasystem.exception;
+
+import java.time.LocalDate;
+
+/**
+ * Thrown when a booking asks for more seats than are left on its package, jetty point and date.
+ */
+public class CapacityExceededException extends RuntimeException {
+
+    private final LocalDate bookingDate;
+    private final int requestedSeats;
+    private final int remainingSeats;
+
+    public CapacityExceededException(LocalDate bookingDate, int requestedSeats, int remainingSeats) {
+        super("Only " + Math.max(remainingSeats, 0) + " seat(s) left on " + bookingDate + ", " + requestedSeats + " requested");
+        this.bookingDate = bookingDate;
+        this.requestedSeats = requestedSeats;
+        this.remainingSeats = Math.max(remainingSeats, 0);
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public int getRequestedSeats() {
+        return requestedSeats;
+    }
+
+    public int getRemainingSeats() {
+        return remainingSeats;
+    }
+}
@@ -0,0 +1,20 @@
+package com.rhumuda_new.rhumudasystem.exception;
+
+import java.util.List;
+
+/**
+ * Thrown when a bulk booking import has malformed or invalid lines. Nothing from the import is saved.
+ */
+public class InvalidImportException extends RuntimeException {
+
+    private final List<String> errors;
+
+    public InvalidImportException(List<String> errors) {
+        super(String.join(", ", errors));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,21 @@
+package com.rhumuda_new.rhumudasystem.exception;
+
+import java.util.List;
+
+/**
+ * Thrown when a booking patch names fields that cannot be patched or carries invalid values.
+ * Carries every problem so the client can fix them in one round trip.
+ */
+public class InvalidPatchException extends RuntimeException {
+
+    private final List<String> errors;
+
+    public InvalidPatchException(List<String> errors) {
+        super(String.join(", ", errors));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
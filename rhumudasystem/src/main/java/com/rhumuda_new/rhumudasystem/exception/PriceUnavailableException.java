@@ -0,0 +1,11 @@
+package com.rhumuda_new.rhumudasystem.exception;
+
+/**
+ * Thrown when a package has neither price tiers nor a base price, so no total can be quoted.
+ */
+public class PriceUnavailableException extends RuntimeException {
+
+    public PriceUnavailableException(Long packageId) {
+        super("No price is set for package " + packageId);
+    }
+}
@@ -0,0 +1,21 @@
+package com.rhumuda_new.rhumudasystem.exception;
+
+import java.util.List;
+
+/**
+ * Thrown when a booking refers to jetty points, packages or add-ons that do not exist.
+ * Carries every unknown reference so the client can fix them in one round trip.
+ */
+public class UnresolvedReferenceException extends RuntimeException {
+
+    private final List<String> errors;
+
+    public UnresolvedReferenceException(List<String> errors) {
+        super(String.join(", ", errors));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,9 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Seats taken on one booking date, as aggregated by {@link BookingRepository#sumSeatsByDate}.
+ */
+public record BookedSeats(LocalDate bookingDate, Long seats) {
+}
@@ -0,0 +1,236 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to bookings for bulk export and import, bypassing the persistence context so
+ * memory does not grow with the number of bookings.
+ * <p>
+ * Exports read through a forward-only, read-only result set with {@code app.bookings.export.fetch-size}
+ * rows per round trip. MySQL Connector/J only honours the fetch size with {@code useCursorFetch=true}
+ * on the JDBC URL; without it the driver reads the whole result into memory first.
+ */
+@Repository
+public class BookingBulkRepository {
+
+    private static final String SELECT_RECORDS = """
+            SELECT b.id, b.booking_id, b.status, b.first_name, b.last_name, b.phone_number, b.email,
+                   b.address_line1, b.address_line2, b.postal_code, b.city, b.country,
+                   b.jetty_point_id, j.name AS jetty_point_name, b.package_id, p.name AS package_name,
+                   b.booking_date, b.passengers, b.alternative_date1, b.alternative_date2, b.special_remarks,
+                   b.quoted_total, b.created_at, b.updated_at, ba.addon_id
+            FROM bookings b
+            JOIN jetty_points j ON j.id = b.jetty_point_id
+            JOIN packages p ON p.id = b.package_id
+            LEFT JOIN booking_addons ba ON ba.booking_id = b.id
+            """;
+
+    private static final String INSERT_BOOKING = """
+            INSERT INTO bookings (id, booking_id, status, first_name, last_name, phone_number, email,
+                                  address_line1, address_line2, postal_code, city, country,
+                                  jetty_point_id, package_id, booking_date, passengers,
+                                  alternative_date1, alternative_date2, special_remarks,
+                                  quoted_total, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private static final String INSERT_ADD_ON = "INSERT INTO booking_addons (booking_id, addon_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public BookingBulkRepository(DataSource dataSource, @Value("${app.bookings.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Streams the bookings dated in {@code [from, to]} to {@code sink} in booking date order. Either bound
+     * may be null. Each booking's add-on rows are folded into one record as they arrive, so only the
+     * current booking is held in memory.
+     */
+    public void stream(LocalDate from, LocalDate to, Consumer<BookingRecord> sink) {
+        List<Object> args = new ArrayList<>(2);
+        if (from != null) {
+            args.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            args.add(Date.valueOf(to));
+        }
+
+        RecordFolder folder = new RecordFolder(sink);
+        jdbcTemplate.query(exportQuery(from != null, to != null), folder, args.toArray());
+        folder.finish();
+    }
+
+    static String exportQuery(boolean from, boolean to) {
+        StringBuilder sql = new StringBuilder(SELECT_RECORDS);
+        String where = " WHERE ";
+        if (from) {
+            sql.append(where).append("b.booking_date >= ?");
+            where = " AND ";
+        }
+        if (to) {
+            sql.append(where).append("b.booking_date <= ?");
+        }
+        return sql.append(" ORDER BY b.booking_date, b.id, ba.addon_id").toString();
+    }
+
+    /**
+     * Inserts the records and their add-ons as two JDBC batches. Every record must have a booking ID,
+     * status and timestamps. Row IDs come from the same pooled generator as {@code Booking} entities, so
+     * this must run inside a transaction.
+     */
+    public void insertAll(List<BookingRecord> records) {
+        long[] ids = new long[records.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = nextId();
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_BOOKING, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bind(ps, ids[i], records.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.length;
+            }
+        });
+
+        List<Object[]> addOns = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            List<Long> addOnIds = records.get(i).addOnIds();
+            if (addOnIds != null) {
+                for (Long addOnId : addOnIds) {
+                    addOns.add(new Object[]{ids[i], addOnId});
+                }
+            }
+        }
+        if (!addOns.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ADD_ON, addOns);
+        }
+    }
+
+    private static void bind(PreparedStatement ps, long id, BookingRecord record) throws SQLException {
+        ps.setLong(1, id);
+        ps.setString(2, record.bookingId());
+        ps.setString(3, record.status().name());
+        ps.setString(4, record.firstName());
+        ps.setString(5, record.lastName());
+        ps.setString(6, record.phoneNumber());
+        ps.setString(7, record.email());
+        ps.setString(8, record.addressLine1());
+        ps.setString(9, record.addressLine2());
+        ps.setString(10, record.postalCode());
+        ps.setString(11, record.city());
+        ps.setString(12, record.country());
+        ps.setLong(13, record.jettyPointId());
+        ps.setLong(14, record.packageId());
+        ps.setDate(15, Date.valueOf(record.bookingDate()));
+        ps.setInt(16, record.passengers());
+        ps.setDate(17, record.alternativeDate1() != null ? Date.valueOf(record.alternativeDate1()) : null);
+        ps.setDate(18, record.alternativeDate2() != null ? Date.valueOf(record.alternativeDate2()) : null);
+        ps.setString(19, record.specialRemarks());
+        ps.setBigDecimal(20, record.quotedTotal());
+        ps.setTimestamp(21, Timestamp.valueOf(record.createdAt()));
+        ps.setTimestamp(22, Timestamp.valueOf(record.updatedAt()));
+    }
+
+    private long nextId() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Booking.class).getGenerator();
+        return (Long) generator.generate(session, null);
+    }
+
+    /**
+     * Turns the one-row-per-add-on result into one record per booking.
+     */
+    private static final class RecordFolder implements RowCallbackHandler {
+
+        private final Consumer<BookingRecord> sink;
+        private long currentId;
+        private BookingRecord current;
+
+        RecordFolder(Consumer<BookingRecord> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (current == null || id != currentId) {
+                finish();
+                currentId = id;
+                current = read(rs);
+            }
+            long addOnId = rs.getLong("addon_id");
+            if (!rs.wasNull()) {
+                current.addOnIds().add(addOnId);
+            }
+        }
+
+        void finish() {
+            if (current != null) {
+                sink.accept(current);
+                current = null;
+            }
+        }
+
+        private static BookingRecord read(ResultSet rs) throws SQLException {
+            return new BookingRecord(
+                    rs.getString("booking_id"),
+                    BookingStatus.valueOf(rs.getString("status")),
+                    rs.getString("first_name"),
+                    rs.getString("last_name"),
+                    rs.getString("phone_number"),
+                    rs.getString("email"),
+                    rs.getString("address_line1"),
+                    rs.getString("address_line2"),
+                    rs.getString("postal_code"),
+                    rs.getString("city"),
+                    rs.getString("country"),
+                    rs.getLong("jetty_point_id"),
+                    rs.getString("jetty_point_name"),
+                    rs.getLong("package_id"),
+                    rs.getString("package_name"),
+                    rs.getObject("booking_date", LocalDate.class),
+                    rs.getInt("passengers"),
+                    new ArrayList<>(2),
+                    rs.getObject("alternative_date1", LocalDate.class),
+                    rs.getObject("alternative_date2", LocalDate.class),
+                    rs.getString("special_remarks"),
+                    rs.getBigDecimal("quoted_total"),
+                    rs.getObject("created_at", LocalDateTime.class),
+                    rs.getObject("updated_at", LocalDateTime.class));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last booking on a search page. Search results are ordered by booking date and
+ * then ID, so the next page starts right after this pair. Sent to clients as an opaque token.
+ */
+public record BookingCursor(LocalDate bookingDate, Long id) {
+
+    public static BookingCursor after(BookingSummary last) {
+        return new BookingCursor(last.bookingDate(), last.id());
+    }
+
+    public String encode() {
+        String value = bookingDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static BookingCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new BookingCursor(
+                    LocalDate.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
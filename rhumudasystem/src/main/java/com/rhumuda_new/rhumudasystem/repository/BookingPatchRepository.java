@@ -0,0 +1,19 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Column-level booking updates, mixed into {@link BookingRepository}.
+ */
+public interface BookingPatchRepository {
+
+    /**
+     * Sets only the given attributes, plus {@code updatedAt}, and bumps the version, in one UPDATE.
+     * With an {@code expectedVersion}, nothing changes unless the booking is still at that version.
+     * Bypasses the persistence context.
+     *
+     * @return the number of rows updated, 0 if the booking does not exist or its version differs
+     */
+    int patch(String bookingId, Map<String, Object> changes, Long expectedVersion, LocalDateTime now);
+}
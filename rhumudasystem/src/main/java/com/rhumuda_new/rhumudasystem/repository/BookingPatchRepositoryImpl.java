@@ -0,0 +1,45 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Builds the patch as a Criteria UPDATE over just the changed columns, so concurrent patches to
+ * different fields of the same booking do not overwrite each other.
+ */
+class BookingPatchRepositoryImpl implements BookingPatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int patch(String bookingId, Map<String, Object> changes, Long expectedVersion, LocalDateTime now) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Booking> update = cb.createCriteriaUpdate(Booking.class);
+        Root<Booking> booking = update.from(Booking.class);
+
+        changes.forEach((attribute, value) -> update.set(attribute, value));
+        Path<Long> version = booking.get("version");
+        update.set(booking.<LocalDateTime>get("updatedAt"), now);
+        update.set(version, cb.sum(version, 1L));
+
+        Predicate matches = cb.equal(booking.get("bookingId"), bookingId);
+        if (expectedVersion != null) {
+            matches = cb.and(matches, cb.equal(version, expectedVersion));
+        }
+        update.where(matches);
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
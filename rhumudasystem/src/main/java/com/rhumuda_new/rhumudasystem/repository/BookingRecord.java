@@ -0,0 +1,59 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One booking as it is exported and imported in bulk. The jetty point and package names are for
+ * people reading the export; an import only uses the IDs.
+ */
+public record BookingRecord(
+        @Size(max = 255, message = "Booking ID is too long")
+        String bookingId,
+        BookingStatus status,
+        @NotBlank(message = "First name is required")
+        String firstName,
+        @NotBlank(message = "Last name is required")
+        String lastName,
+        @NotBlank(message = "Phone number is required")
+        String phoneNumber,
+        @NotBlank(message = "Email is required")
+        @Email(message = "Invalid email format")
+        String email,
+        @NotBlank(message = "Address Line 1 is required")
+        String addressLine1,
+        String addressLine2,
+        @NotBlank(message = "Postal code is required")
+        String postalCode,
+        @NotBlank(message = "City is required")
+        String city,
+        @NotBlank(message = "Country is required")
+        String country,
+        @NotNull(message = "Jetty point is required")
+        Long jettyPointId,
+        String jettyPointName,
+        @NotNull(message = "Package is required")
+        Long packageId,
+        String packageName,
+        @NotNull(message = "Booking date is required")
+        LocalDate bookingDate,
+        @NotNull(message = "Number of passengers is required")
+        @Min(value = 1, message = "Number of passengers must be at least 1")
+        Integer passengers,
+        List<Long> addOnIds,
+        LocalDate alternativeDate1,
+        LocalDate alternativeDate2,
+        String specialRemarks,
+        BigDecimal quotedTotal,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
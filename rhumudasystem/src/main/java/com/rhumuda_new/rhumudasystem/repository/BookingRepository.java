@@ -1,10 +1,81 @@
 package com.rhumuda_new.rhumudasystem.repository;
 
 import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingSearchRepository, BookingPatchRepository {
     boolean existsByBookingId(String bookingId);
     Optional<Booking> findByBookingId(String bookingId);
-}
\ No newline at end of file
+
+    /**
+     * Loads a booking with its jetty point, package and package category in one query.
+     */
+    @Query("select b from Booking b " +
+           "join fetch b.jettyPoint join fetch b.packageDetails p left join fetch p.category " +
+           "where b.bookingId = :bookingId")
+    Optional<Booking> findWithDetailsByBookingId(@Param("bookingId") String bookingId);
+
+    @Query("select b.status from Booking b where b.bookingId = :bookingId")
+    Optional<BookingStatus> findStatusByBookingId(@Param("bookingId") String bookingId);
+
+    /**
+     * Moves a booking from {@code from} to {@code to} in one statement. Returns 0 if the booking
+     * does not exist or is not in {@code from}. Bypasses the persistence context and availability.
+     */
+    @Modifying
+    @Query("update Booking b set b.status = :to, b.updatedAt = :now, b.version = b.version + 1 " +
+           "where b.bookingId = :bookingId and b.status = :from")
+    int transitionStatus(@Param("bookingId") String bookingId,
+                         @Param("from") BookingStatus from,
+                         @Param("to") BookingStatus to,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * Loads a booking's read model in one query.
+     */
+    default Optional<BookingView> findViewByBookingId(String bookingId) {
+        return BookingView.fold(findViewRows(bookingId));
+    }
+
+    @Query("select new com.rhumuda_new.rhumudasystem.repository.BookingViewRow(" +
+           "b.bookingId, b.status, b.firstName, b.lastName, b.phoneNumber, b.email, " +
+           "b.addressLine1, b.addressLine2, b.postalCode, b.city, b.country, " +
+           "b.bookingDate, b.passengers, b.alternativeDate1, b.alternativeDate2, b.specialRemarks, " +
+           "b.quotedTotal, b.createdAt, b.updatedAt, b.version, " +
+           "j.id, j.name, " +
+           "p.id, p.name, p.basePrice, p.maxCapacity, p.durationMinutes, p.imageUrl, " +
+           "a.id, a.name, a.price, a.perPerson, " +
+           "s.id, s.name) " +
+           "from Booking b join b.jettyPoint j join b.packageDetails p " +
+           "left join b.addOns a left join p.services s " +
+           "where b.bookingId = :bookingId " +
+           "order by a.id, s.id")
+    List<BookingViewRow> findViewRows(@Param("bookingId") String bookingId);
+
+    /**
+     * Seats taken per date from {@code from} on. Never flushes, so a booking changed but not yet saved in
+     * the current transaction is counted as it was.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("select new com.rhumuda_new.rhumudasystem.repository.BookedSeats(b.bookingDate, sum(b.passengers)) " +
+           "from Booking b " +
+           "where b.packageDetails.id = :packageId and b.jettyPoint.id = :jettyPointId " +
+           "and b.bookingDate >= :from and b.status <> :excluded " +
+           "group by b.bookingDate")
+    List<BookedSeats> sumSeatsByDate(@Param("packageId") Long packageId,
+                                     @Param("jettyPointId") Long jettyPointId,
+                                     @Param("from") LocalDate from,
+                                     @Param("excluded") BookingStatus excluded);
+}
@@ -0,0 +1,18 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Admin booking search filters. Null fields are not filtered on; the date range is inclusive.
+ */
+public record BookingSearchFilter(
+        BookingStatus status,
+        LocalDate dateFrom,
+        LocalDate dateTo,
+        Long jettyPointId,
+        Long packageId,
+        String emailPrefix,
+        String phonePrefix) {
+}
@@ -0,0 +1,15 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated booking search, mixed into {@link BookingRepository}.
+ */
+public interface BookingSearchRepository {
+
+    /**
+     * Returns up to {@code limit} bookings matching {@code filter}, ordered by booking date and ID,
+     * starting after {@code after} (or from the first match when null).
+     */
+    List<BookingSummary> search(BookingSearchFilter filter, BookingCursor after, int limit);
+}
@@ -0,0 +1,101 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the search as a single Criteria query. Only the filters that are set become predicates,
+ * so each combination can use the matching index on {@code bookings}. Pages seek past the cursor
+ * instead of using an offset, which keeps deep pages as cheap as the first one.
+ */
+class BookingSearchRepositoryImpl implements BookingSearchRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingSummary> search(BookingSearchFilter filter, BookingCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingSummary> query = cb.createQuery(BookingSummary.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, JettyPoint> jettyPoint = booking.join("jettyPoint");
+        Join<Booking, Package> packageDetails = booking.join("packageDetails");
+
+        Path<LocalDate> bookingDate = booking.get("bookingDate");
+        Path<Long> id = booking.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.status() != null) {
+            predicates.add(cb.equal(booking.get("status"), filter.status()));
+        }
+        if (filter.dateFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(bookingDate, filter.dateFrom()));
+        }
+        if (filter.dateTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(bookingDate, filter.dateTo()));
+        }
+        if (filter.jettyPointId() != null) {
+            predicates.add(cb.equal(booking.get("jettyPoint").get("id"), filter.jettyPointId()));
+        }
+        if (filter.packageId() != null) {
+            predicates.add(cb.equal(booking.get("packageDetails").get("id"), filter.packageId()));
+        }
+        if (filter.emailPrefix() != null) {
+            predicates.add(cb.like(booking.get("email"), startsWith(filter.emailPrefix()), LIKE_ESCAPE));
+        }
+        if (filter.phonePrefix() != null) {
+            predicates.add(cb.like(booking.get("phoneNumber"), startsWith(filter.phonePrefix()), LIKE_ESCAPE));
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.greaterThan(bookingDate, after.bookingDate()),
+                    cb.and(cb.equal(bookingDate, after.bookingDate()), cb.greaterThan(id, after.id()))));
+        }
+
+        query.select(cb.construct(BookingSummary.class,
+                        id,
+                        booking.get("bookingId"),
+                        booking.get("status"),
+                        booking.get("firstName"),
+                        booking.get("lastName"),
+                        booking.get("email"),
+                        booking.get("phoneNumber"),
+                        bookingDate,
+                        booking.get("passengers"),
+                        jettyPoint.get("id"),
+                        jettyPoint.get("name"),
+                        packageDetails.get("id"),
+                        packageDetails.get("name"),
+                        booking.get("quotedTotal"),
+                        booking.get("createdAt")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(bookingDate), cb.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static String startsWith(String prefix) {
+        String escaped = prefix
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+}
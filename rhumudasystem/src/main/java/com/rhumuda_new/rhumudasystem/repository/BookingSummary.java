@@ -0,0 +1,30 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the admin booking search. Built straight from the query, so no {@code Booking},
+ * {@code JettyPoint} or {@code Package} entities are loaded.
+ */
+public record BookingSummary(
+        @JsonIgnore Long id,
+        String bookingId,
+        BookingStatus status,
+        String firstName,
+        String lastName,
+        String email,
+        String phoneNumber,
+        LocalDate bookingDate,
+        Integer passengers,
+        Long jettyPointId,
+        String jettyPointName,
+        Long packageId,
+        String packageName,
+        BigDecimal quotedTotal,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,103 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read model for a single booking, as shown on the summary page and in the edit dialog. Keeps the
+ * JSON shape of the {@code Booking} entity for the fields those pages use, and leaves out the rest of
+ * the package (price tiers, category, description), which the pages take from the catalog.
+ */
+public record BookingView(
+        String bookingId,
+        BookingStatus status,
+        String firstName,
+        String lastName,
+        String phoneNumber,
+        String email,
+        String addressLine1,
+        String addressLine2,
+        String postalCode,
+        String city,
+        String country,
+        JettyPointView jettyPoint,
+        LocalDate bookingDate,
+        Integer passengers,
+        PackageView packageDetails,
+        List<AddOnView> addOns,
+        LocalDate alternativeDate1,
+        LocalDate alternativeDate2,
+        String specialRemarks,
+        BigDecimal quotedTotal,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version) {
+
+    public record JettyPointView(Long id, String name) {
+    }
+
+    public record PackageView(Long id, String name, BigDecimal basePrice, Integer maxCapacity,
+                              Integer durationMinutes, String imageUrl, List<ServiceView> services) {
+    }
+
+    public record ServiceView(Long id, String name) {
+    }
+
+    public record AddOnView(Long id, String name, BigDecimal price, Boolean perPerson) {
+    }
+
+    /**
+     * Folds the rows of one booking back into a single view, or returns empty if there are none.
+     */
+    static Optional<BookingView> fold(List<BookingViewRow> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<Long, AddOnView> addOns = new LinkedHashMap<>();
+        Map<Long, ServiceView> services = new LinkedHashMap<>();
+        for (BookingViewRow row : rows) {
+            if (row.addOnId() != null) {
+                addOns.putIfAbsent(row.addOnId(),
+                        new AddOnView(row.addOnId(), row.addOnName(), row.addOnPrice(), row.addOnPerPerson()));
+            }
+            if (row.serviceId() != null) {
+                services.putIfAbsent(row.serviceId(), new ServiceView(row.serviceId(), row.serviceName()));
+            }
+        }
+
+        BookingViewRow first = rows.get(0);
+        return Optional.of(new BookingView(
+                first.bookingId(),
+                first.status(),
+                first.firstName(),
+                first.lastName(),
+                first.phoneNumber(),
+                first.email(),
+                first.addressLine1(),
+                first.addressLine2(),
+                first.postalCode(),
+                first.city(),
+                first.country(),
+                new JettyPointView(first.jettyPointId(), first.jettyPointName()),
+                first.bookingDate(),
+                first.passengers(),
+                new PackageView(first.packageId(), first.packageName(), first.basePrice(), first.maxCapacity(),
+                        first.durationMinutes(), first.imageUrl(), new ArrayList<>(services.values())),
+                new ArrayList<>(addOns.values()),
+                first.alternativeDate1(),
+                first.alternativeDate2(),
+                first.specialRemarks(),
+                first.quotedTotal(),
+                first.createdAt(),
+                first.updatedAt(),
+                first.version()));
+    }
+}
@@ -0,0 +1,48 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row of {@link BookingRepository#findViewRows}: the booking with its jetty point and package,
+ * repeated for each add-on and included service pair. Folded into a {@link BookingView}.
+ */
+public record BookingViewRow(
+        String bookingId,
+        BookingStatus status,
+        String firstName,
+        String lastName,
+        String phoneNumber,
+        String email,
+        String addressLine1,
+        String addressLine2,
+        String postalCode,
+        String city,
+        String country,
+        LocalDate bookingDate,
+        Integer passengers,
+        LocalDate alternativeDate1,
+        LocalDate alternativeDate2,
+        String specialRemarks,
+        BigDecimal quotedTotal,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version,
+        Long jettyPointId,
+        String jettyPointName,
+        Long packageId,
+        String packageName,
+        BigDecimal basePrice,
+        Integer maxCapacity,
+        Integer durationMinutes,
+        String imageUrl,
+        Long addOnId,
+        String addOnName,
+        BigDecimal addOnPrice,
+        Boolean addOnPerPerson,
+        Long serviceId,
+        String serviceName) {
+}
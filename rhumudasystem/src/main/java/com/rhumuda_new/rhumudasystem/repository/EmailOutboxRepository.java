@@ -0,0 +1,32 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import com.rhumuda_new.rhumudasystem.entity.EmailOutboxMessage;
+import com.rhumuda_new.rhumudasystem.entity.EmailOutboxMessage.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+    List<EmailOutboxMessage> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            OutboxStatus status, LocalDateTime now, Pageable pageable);
+
+    List<EmailOutboxMessage> findByBookingId(String bookingId);
+
+    /**
+     * Claims a due message by moving its next attempt to {@code leaseUntil}. Returns 1 only while the
+     * row is still PENDING with the next attempt the caller read, so when dispatchers overlap exactly
+     * one of them gets each message. A claimed message that is never sent becomes due again after the lease.
+     */
+    @Modifying
+    @Transactional
+    @Query("update EmailOutboxMessage m set m.nextAttemptAt = :leaseUntil "
+            + "where m.id = :id and m.status = :status and m.nextAttemptAt = :seen")
+    int claim(@Param("id") Long id, @Param("status") OutboxStatus status, @Param("seen") LocalDateTime seen,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+}
@@ -2,10 +2,36 @@ package com.rhumuda_new.rhumudasystem.repository;
 
 import com.rhumuda_new.rhumudasystem.entity.Package;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface PackageRepository extends JpaRepository<Package, Long> {
     List<Package> findByCategoryIdAndIsActiveTrue(Long categoryId);
-} 
\ No newline at end of file
+
+    @Query("select distinct p from Package p left join fetch p.category left join fetch p.priceTiers " +
+           "where p.categoryId = :categoryId and p.isActive = true order by p.id")
+    List<Package> findActiveWithCategoryAndTiers(@Param("categoryId") Long categoryId);
+
+    @Query("select distinct p from Package p left join fetch p.priceTiers order by p.id")
+    List<Package> findAllWithPriceTiers();
+
+    @Query("select distinct p from Package p left join fetch p.services where p in :packages")
+    List<Package> fetchServices(@Param("packages") List<Package> packages);
+
+    /**
+     * Loads a category's active packages with category, price tiers and services in two queries,
+     * however many packages there are. The two collections are fetched separately because
+     * join-fetching both bags at once is rejected by Hibernate. Must run inside a transaction
+     * so the second query fills the entities returned by the first.
+     */
+    default List<Package> findActiveWithDetailsByCategoryId(Long categoryId) {
+        List<Package> packages = findActiveWithCategoryAndTiers(categoryId);
+        if (!packages.isEmpty()) {
+            fetchServices(packages);
+        }
+        return packages;
+    }
+}
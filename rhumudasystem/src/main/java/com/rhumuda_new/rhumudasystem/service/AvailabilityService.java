@@ -0,0 +1,342 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.dto.AvailabilityDayDTO;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.exception.CapacityExceededException;
+import com.rhumuda_new.rhumudasystem.repository.BookedSeats;
+import com.rhumuda_new.rhumudasystem.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Tracks seats taken per package, jetty point and booking date, and enforces {@code Package.maxCapacity}.
+ * <p>
+ * Seats are kept in memory, one date-ordered map per package and jetty point. A route is loaded from the
+ * bookings table with a single GROUP BY query the first time it is used; after that, reservations and
+ * availability queries do not touch the database. Reservations use a compare-and-set on the date's
+ * counter, so concurrent bookings can never take more seats than the package has. If the surrounding
+ * transaction rolls back, the seats are given back.
+ * <p>
+ * A route loaded inside a transaction sees that transaction's own writes, so callers load the routes
+ * they are about to change ({@link #loadRoute}) before writing bookings, and the load never flushes.
+ * <p>
+ * Every booking write must go through this service ({@link BookingService} does). The counters are per
+ * application instance, so the capacity check only holds with a single instance. Bookings written
+ * elsewhere (another instance, SQL) are picked up when {@link #reconcile()} reloads the ledger every
+ * {@code app.availability.reconcile-interval}.
+ */
+@Service
+public class AvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityService.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    // How long a reconcile waits for a route's open transactions before leaving it for the next run
+    private static final long RECONCILE_WAIT_MILLIS = 1000;
+
+    private final ConcurrentHashMap<Route, RouteSeats> ledger = new ConcurrentHashMap<>();
+
+    /**
+     * Booked seats by date for one route. Every transaction that changes them holds the read lock until
+     * it completes, and {@link #reconcile()} takes the write lock, so a reload never races a booking
+     * that has taken seats but not yet committed.
+     */
+    private static final class RouteSeats {
+
+        private final ConcurrentSkipListMap<LocalDate, AtomicInteger> byDate = new ConcurrentSkipListMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        /**
+         * Replaces the counts with {@code rows} and returns how many dates were off.
+         */
+        int refresh(List<BookedSeats> rows) {
+            Map<LocalDate, Integer> committed = new HashMap<>();
+            for (BookedSeats row : rows) {
+                committed.put(row.bookingDate(), row.seats().intValue());
+            }
+            int drifted = 0;
+            Iterator<Map.Entry<LocalDate, AtomicInteger>> entries = byDate.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<LocalDate, AtomicInteger> entry = entries.next();
+                if (!committed.containsKey(entry.getKey())) {
+                    // Past dates go here too, as the query starts today
+                    if (entry.getValue().get() != 0 && !entry.getKey().isBefore(LocalDate.now())) {
+                        drifted++;
+                    }
+                    entries.remove();
+                }
+            }
+            for (Map.Entry<LocalDate, Integer> entry : committed.entrySet()) {
+                AtomicInteger counted = byDate.computeIfAbsent(entry.getKey(), date -> new AtomicInteger());
+                if (counted.getAndSet(entry.getValue()) != entry.getValue()) {
+                    drifted++;
+                }
+            }
+            return drifted;
+        }
+    }
+
+    public record Route(Long packageId, Long jettyPointId) {
+    }
+
+    /**
+     * Seats a booking occupies. Cancelled bookings occupy none.
+     */
+    public record Hold(Route route, LocalDate bookingDate, int seats, Integer capacity) {
+
+        public static Hold of(Booking booking) {
+            int seats = booking.getStatus() == BookingStatus.CANCELLED || booking.getPassengers() == null
+                    ? 0 : booking.getPassengers();
+            return new Hold(
+                    new Route(booking.getPackageDetails().getId(), booking.getJettyPoint().getId()),
+                    booking.getBookingDate(),
+                    seats,
+                    booking.getPackageDetails().getMaxCapacity());
+        }
+
+        boolean sameSlot(Hold other) {
+            return route.equals(other.route) && bookingDate.equals(other.bookingDate);
+        }
+    }
+
+    /**
+     * Takes the hold's seats, or throws if they would exceed the package capacity.
+     *
+     * @throws CapacityExceededException if there is not enough room
+     */
+    public void reserve(Hold hold) {
+        if (hold.seats() > 0) {
+            locked(hold.route(), seats -> {
+                AtomicInteger booked = take(seats, hold, hold.seats());
+                onRollback(() -> booked.addAndGet(-hold.seats()));
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Moves a booking from one hold to another, as when its date, package, jetty point, passengers or
+     * status change. The new seats are taken before the old ones are released, so a failed move leaves
+     * the booking where it was.
+     *
+     * @throws CapacityExceededException if the new hold does not fit
+     */
+    public void change(Hold before, Hold after) {
+        if (before.sameSlot(after)) {
+            int delta = after.seats() - before.seats();
+            if (delta != 0) {
+                locked(after.route(), seats -> {
+                    AtomicInteger booked = delta > 0 ? take(seats, after, delta) : counter(seats, after);
+                    if (delta < 0) {
+                        booked.addAndGet(delta);
+                    }
+                    onRollback(() -> booked.addAndGet(-delta));
+                    return null;
+                });
+            }
+            return;
+        }
+        reserve(after);
+        release(before);
+    }
+
+    public void release(Hold hold) {
+        if (hold.seats() > 0) {
+            locked(hold.route(), seats -> {
+                AtomicInteger booked = counter(seats, hold);
+                booked.addAndGet(-hold.seats());
+                onRollback(() -> booked.addAndGet(hold.seats()));
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Loads the route's seats if this instance has not yet. Call it before writing bookings on the
+     * route in the same transaction, so the load does not count those writes.
+     */
+    public void loadRoute(Route route) {
+        seats(route);
+    }
+
+    public int bookedSeats(Long packageId, Long jettyPointId, LocalDate date) {
+        AtomicInteger booked = seats(new Route(packageId, jettyPointId)).byDate.get(date);
+        return booked != null ? booked.get() : 0;
+    }
+
+    /**
+     * Builds the calendar for {@code [from, to]}, marking days with room for {@code passengers}. Without a
+     * jetty point, a day's remaining seats are the most left at any active jetty point.
+     */
+    public List<AvailabilityDayDTO> getCalendar(Long packageId, Long jettyPointId, LocalDate from, LocalDate to, int passengers) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        List<AvailabilityDayDTO> calendar = new ArrayList<>(days);
+        OptionalInt capacity = catalogService.getPackageCapacity(packageId);
+        if (capacity.isEmpty()) {
+            for (int i = 0; i < days; i++) {
+                calendar.add(new AvailabilityDayDTO(from.plusDays(i), null, true));
+            }
+            return calendar;
+        }
+
+        List<Long> jettyPointIds = jettyPointId != null
+                ? List.of(jettyPointId)
+                : catalogService.getActiveJettyPoints().stream().map(JettyPoint::getId).toList();
+        List<NavigableMap<LocalDate, AtomicInteger>> booked = new ArrayList<>(jettyPointIds.size());
+        for (Long id : jettyPointIds) {
+            booked.add(seats(new Route(packageId, id)).byDate.subMap(from, true, to, true));
+        }
+
+        for (int i = 0; i < days; i++) {
+            LocalDate date = from.plusDays(i);
+            int remaining = 0;
+            for (NavigableMap<LocalDate, AtomicInteger> seats : booked) {
+                AtomicInteger taken = seats.get(date);
+                remaining = Math.max(remaining, capacity.getAsInt() - (taken != null ? taken.get() : 0));
+            }
+            calendar.add(new AvailabilityDayDTO(date, remaining, remaining >= passengers));
+        }
+        return calendar;
+    }
+
+    /**
+     * Reloads every route in the ledger from the bookings table, so seats booked outside this instance
+     * are counted and past dates are dropped. A route is reloaded only while none of this instance's
+     * transactions has changed it without completing; one that stays busy is left for the next run.
+     */
+    @Scheduled(fixedDelayString = "${app.availability.reconcile-interval:PT15M}",
+               initialDelayString = "${app.availability.reconcile-interval:PT15M}")
+    public void reconcile() {
+        for (Map.Entry<Route, RouteSeats> entry : ledger.entrySet()) {
+            Route route = entry.getKey();
+            Lock lock = entry.getValue().lock.writeLock();
+            try {
+                if (!lock.tryLock(RECONCILE_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    logger.debug("Availability for package {} at jetty point {} is busy; not reconciled",
+                            route.packageId(), route.jettyPointId());
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                int drifted = entry.getValue().refresh(query(route));
+                if (drifted > 0) {
+                    logger.warn("Availability for package {} at jetty point {} was off on {} date(s); reloaded",
+                            route.packageId(), route.jettyPointId(), drifted);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private AtomicInteger take(RouteSeats seats, Hold hold, int count) {
+        AtomicInteger booked = counter(seats, hold);
+        if (hold.capacity() == null) {
+            booked.addAndGet(count);
+            return booked;
+        }
+        int current;
+        do {
+            current = booked.get();
+            if (current + count > hold.capacity()) {
+                throw new CapacityExceededException(hold.bookingDate(), count, hold.capacity() - current);
+            }
+        } while (!booked.compareAndSet(current, current + count));
+        return booked;
+    }
+
+    private static AtomicInteger counter(RouteSeats seats, Hold hold) {
+        return seats.byDate.computeIfAbsent(hold.bookingDate(), date -> new AtomicInteger());
+    }
+
+    /**
+     * Runs {@code change} on the route's seats under its read lock. Within a transaction the lock is
+     * held until the transaction completes, so a reconcile cannot reload the route in between.
+     */
+    private <T> T locked(Route route, Function<RouteSeats, T> change) {
+        RouteSeats seats = seats(route);
+        Lock lock = seats.lock.readLock();
+        lock.lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                return change.apply(seats);
+            } finally {
+                lock.unlock();
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+        return change.apply(seats);
+    }
+
+    private RouteSeats seats(Route route) {
+        RouteSeats seats = ledger.get(route);
+        if (seats != null) {
+            return seats;
+        }
+        // Queried outside the map so a slow load does not block other routes in the same bin; if two
+        // threads load the same route, the first one stored wins
+        RouteSeats loaded = new RouteSeats();
+        List<BookedSeats> rows = query(route);
+        loaded.refresh(rows);
+        logger.debug("Loaded availability for package {} at jetty point {} ({} dates)",
+                route.packageId(), route.jettyPointId(), rows.size());
+        seats = ledger.putIfAbsent(route, loaded);
+        return seats != null ? seats : loaded;
+    }
+
+    private List<BookedSeats> query(Route route) {
+        return bookingRepository.sumSeatsByDate(
+                route.packageId(), route.jettyPointId(), LocalDate.now(), BookingStatus.CANCELLED);
+    }
+
+    private static void onRollback(Runnable compensation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    compensation.run();
+                }
+            }
+        });
+    }
+}
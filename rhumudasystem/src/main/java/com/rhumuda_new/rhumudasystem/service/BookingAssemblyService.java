@@ -0,0 +1,141 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.dto.BookingDTO;
+import com.rhumuda_new.rhumudasystem.entity.AddOn;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.exception.UnresolvedReferenceException;
+import com.rhumuda_new.rhumudasystem.repository.AddOnRepository;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds {@link Booking} entities from incoming {@link BookingDTO}s.
+ *
+ * All referenced entities are resolved in a single pass: one lookup for the jetty point,
+ * one for the package and one bulk lookup for every add-on, regardless of how many
+ * add-ons the inquiry carries. Unknown IDs are collected and reported together.
+ */
+@Service
+public class BookingAssemblyService {
+
+    @Autowired
+    private JettyPointRepository jettyPointRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private AddOnRepository addOnRepository;
+
+    public Booking assemble(BookingDTO bookingDTO) {
+        Booking booking = new Booking();
+        booking.setBookingId(bookingDTO.getBookingId());
+        applyFields(booking, bookingDTO);
+
+        References references = resolve(bookingDTO);
+        booking.setJettyPoint(references.jettyPoint());
+        booking.setPackageDetails(references.packageDetails());
+        if (bookingDTO.getAddOns() != null && !bookingDTO.getAddOns().isEmpty()) {
+            booking.setAddOns(references.addOns());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        booking.setCreatedAt(now);
+        booking.setUpdatedAt(now);
+        return booking;
+    }
+
+    public void apply(Booking existingBooking, BookingDTO bookingDTO) {
+        applyFields(existingBooking, bookingDTO);
+
+        References references = resolve(bookingDTO);
+        existingBooking.setJettyPoint(references.jettyPoint());
+        existingBooking.setPackageDetails(references.packageDetails());
+        if (bookingDTO.getAddOns() != null) {
+            existingBooking.setAddOns(references.addOns());
+        }
+
+        existingBooking.setUpdatedAt(LocalDateTime.now());
+    }
+
+    /**
+     * Resolves the jetty point, package and add-ons referenced by the DTO.
+     *
+     * @throws NumberFormatException if any ID is not numeric
+     * @throws UnresolvedReferenceException listing every ID that does not exist
+     */
+    public References resolve(BookingDTO bookingDTO) {
+        // Parse everything up front so a malformed ID fails before any query is issued
+        Long jettyPointId = Long.parseLong(bookingDTO.getJettyPoint());
+        Long packageId = Long.parseLong(bookingDTO.getPackageId());
+        Set<Long> addOnIds = new LinkedHashSet<>();
+        if (bookingDTO.getAddOns() != null) {
+            for (String addOnId : bookingDTO.getAddOns()) {
+                addOnIds.add(Long.parseLong(addOnId));
+            }
+        }
+
+        List<String> errors = new ArrayList<>();
+
+        JettyPoint jettyPoint = jettyPointRepository.findById(jettyPointId).orElse(null);
+        if (jettyPoint == null) {
+            errors.add("JettyPoint not found: " + jettyPointId);
+        }
+
+        Package packageDetails = packageRepository.findById(packageId).orElse(null);
+        if (packageDetails == null) {
+            errors.add("Package not found: " + packageId);
+        }
+
+        Set<AddOn> addOns = new HashSet<>();
+        if (!addOnIds.isEmpty()) {
+            addOns.addAll(addOnRepository.findAllById(addOnIds));
+            Set<Long> found = new HashSet<>();
+            addOns.forEach(addOn -> found.add(addOn.getId()));
+            for (Long addOnId : addOnIds) {
+                if (!found.contains(addOnId)) {
+                    errors.add("AddOn not found: " + addOnId);
+                }
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new UnresolvedReferenceException(errors);
+        }
+        return new References(jettyPoint, packageDetails, addOns);
+    }
+
+    private void applyFields(Booking booking, BookingDTO bookingDTO) {
+        booking.setStatus(BookingStatus.valueOf(bookingDTO.getStatus()));
+        booking.setFirstName(bookingDTO.getFirstName());
+        booking.setLastName(bookingDTO.getLastName());
+        booking.setPhoneNumber(bookingDTO.getPhoneNumber());
+        booking.setEmail(bookingDTO.getEmail());
+        booking.setAddressLine1(bookingDTO.getAddressLine1());
+        booking.setAddressLine2(bookingDTO.getAddressLine2());
+        booking.setPostalCode(bookingDTO.getPostalCode());
+        booking.setCity(bookingDTO.getCity());
+        booking.setCountry(bookingDTO.getCountry());
+
+        booking.setBookingDate(bookingDTO.getBookingDate());
+        booking.setPassengers(bookingDTO.getPassengers());
+        booking.setAlternativeDate1(bookingDTO.getAlternativeDate1());
+        booking.setAlternativeDate2(bookingDTO.getAlternativeDate2());
+        booking.setSpecialRemarks(bookingDTO.getSpecialRemarks());
+    }
+
+    public record References(JettyPoint jettyPoint, Package packageDetails, Set<AddOn> addOns) {
+    }
+}
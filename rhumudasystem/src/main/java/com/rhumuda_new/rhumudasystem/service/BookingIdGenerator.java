@@ -0,0 +1,86 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Allocates time-ordered booking IDs without a database round trip.
+ * <p>
+ * Each ID packs 41 bits of milliseconds since {@link #EPOCH_MILLIS}, a 10-bit node ID and a 12-bit
+ * sequence, so instances with distinct {@code app.booking-id.node-id} values never collide. The
+ * timestamp and sequence share one {@link AtomicLong} and are advanced with compare-and-set. When the
+ * sequence for a millisecond runs out, or the clock moves backwards, allocation continues from the
+ * last timestamp instead of waiting, so IDs stay unique and increasing.
+ */
+@Component
+public class BookingIdGenerator {
+
+    static final String PREFIX = "RHM";
+
+    // 2025-01-01T00:00:00Z
+    static final long EPOCH_MILLIS = 1735689600000L;
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // 13 base-36 digits cover any positive long, so padded IDs sort in allocation order
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    // (timestamp << SEQUENCE_BITS) | sequence of the last allocated ID
+    private final AtomicLong lastState = new AtomicLong();
+
+    @Autowired
+    public BookingIdGenerator(@Value("${app.booking-id.node-id:0}") long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    BookingIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Booking ID node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns a new booking ID: {@code RHM} followed by 13 upper-case base-36 digits.
+     */
+    public String nextBookingId() {
+        return format(nextId());
+    }
+
+    long nextId() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        long current;
+        long next;
+        do {
+            current = lastState.get();
+            long candidate = now << SEQUENCE_BITS;
+            // The sequence overflowing into the timestamp bits borrows the next millisecond
+            next = candidate > current ? candidate : current + 1;
+        } while (!lastState.compareAndSet(current, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & SEQUENCE_MASK;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    static String format(long id) {
+        String digits = Long.toString(id, 36).toUpperCase(Locale.ROOT);
+        StringBuilder bookingId = new StringBuilder(PREFIX.length() + ENCODED_LENGTH).append(PREFIX);
+        for (int i = digits.length(); i < ENCODED_LENGTH; i++) {
+            bookingId.append('0');
+        }
+        return bookingId.append(digits).toString();
+    }
+}
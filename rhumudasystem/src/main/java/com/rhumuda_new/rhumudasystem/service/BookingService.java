@@ -4,17 +4,176 @@ import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 import com.rhumuda_new.rhumudasystem.dto.BookingDTO;
 import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+import com.rhumuda_new.rhumudasystem.entity.EmailOutboxMessage;
+import com.rhumuda_new.rhumudasystem.entity.EmailOutboxMessage.MessageType;
+import com.rhumuda_new.rhumudasystem.exception.BookingStateException;
+import com.rhumuda_new.rhumudasystem.exception.InvalidPatchException;
 import com.rhumuda_new.rhumudasystem.repository.BookingRepository;
+import com.rhumuda_new.rhumudasystem.repository.BookingView;
+import com.rhumuda_new.rhumudasystem.repository.EmailOutboxRepository;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class BookingService {
+
+    // Fields a patch may set directly. Changes that move seats or the price go through updateBooking.
+    private static final Map<String, Class<?>> PATCHABLE_FIELDS = Map.ofEntries(
+        Map.entry("firstName", String.class),
+        Map.entry("lastName", String.class),
+        Map.entry("phoneNumber", String.class),
+        Map.entry("email", String.class),
+        Map.entry("addressLine1", String.class),
+        Map.entry("addressLine2", String.class),
+        Map.entry("postalCode", String.class),
+        Map.entry("city", String.class),
+        Map.entry("country", String.class),
+        Map.entry("alternativeDate1", LocalDate.class),
+        Map.entry("alternativeDate2", LocalDate.class),
+        Map.entry("specialRemarks", String.class));
     
     @Autowired
     private BookingRepository bookingRepository;
 
-    public BookingDTO getBookingById(String bookingId) {
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private BookingAssemblyService bookingAssemblyService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * Saves a new booking with its quoted total after taking its seats.
+     *
+     * @throws com.rhumuda_new.rhumudasystem.exception.CapacityExceededException if the date is full
+     */
+    @Transactional
+    public Booking createBooking(Booking booking) {
+        availabilityService.reserve(AvailabilityService.Hold.of(booking));
+        booking.setQuotedTotal(pricingService.quoteBooking(booking));
+        return bookingRepository.save(booking);
+    }
+
+    /**
+     * Applies the DTO to an existing booking, moving its seats if the date, package, jetty point,
+     * passengers or status changed, and quoting it again.
+     *
+     * @throws com.rhumuda_new.rhumudasystem.exception.CapacityExceededException if the new date is full
+     * @throws OptimisticLockingFailureException if the booking changed since the DTO's version, or
+     *         is changed by someone else before this update commits
+     */
+    @Transactional
+    public Booking updateBooking(String bookingId, BookingDTO bookingDTO) {
         Booking booking = bookingRepository.findByBookingId(bookingId)
+            .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
+        if (bookingDTO.getVersion() != null && !bookingDTO.getVersion().equals(booking.getVersion())) {
+            throw new OptimisticLockingFailureException(
+                "Booking " + bookingId + " has changed since version " + bookingDTO.getVersion());
+        }
+
+        AvailabilityService.Hold before = AvailabilityService.Hold.of(booking);
+        // Loaded while the booking is unchanged, so the count is its committed state
+        availabilityService.loadRoute(before.route());
+        bookingAssemblyService.apply(booking, bookingDTO);
+        availabilityService.change(before, AvailabilityService.Hold.of(booking));
+        booking.setQuotedTotal(pricingService.quoteBooking(booking));
+
+        return bookingRepository.save(booking);
+    }
+
+    /**
+     * Sets the given customer and other-option fields in one UPDATE of just those columns, so
+     * concurrent patches to different fields all apply. A {@code version} entry makes the patch
+     * conditional on the booking still being at that version.
+     *
+     * @throws InvalidPatchException if a field cannot be patched or a value is invalid
+     * @throws OptimisticLockingFailureException if the booking is no longer at the given version
+     * @throws EntityNotFoundException if there is no such booking
+     */
+    @Transactional
+    public BookingView patchBooking(String bookingId, Map<String, Object> patch) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+        Long expectedVersion = null;
+        for (Map.Entry<String, Object> field : patch.entrySet()) {
+            String name = field.getKey();
+            if (name.equals("version")) {
+                if (field.getValue() instanceof Number number) {
+                    expectedVersion = number.longValue();
+                } else if (field.getValue() != null) {
+                    errors.add("Version must be a number");
+                }
+                continue;
+            }
+            Class<?> type = PATCHABLE_FIELDS.get(name);
+            if (type == null) {
+                errors.add("Field cannot be patched: " + name);
+                continue;
+            }
+            try {
+                Object value = patchValue(field.getValue(), type);
+                for (ConstraintViolation<BookingDTO> violation : validator.validateValue(BookingDTO.class, name, value)) {
+                    errors.add(violation.getMessage());
+                }
+                changes.put(name, value);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                errors.add("Invalid value for " + name);
+            }
+        }
+        if (changes.isEmpty() && errors.isEmpty()) {
+            errors.add("No fields to update");
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidPatchException(errors);
+        }
+
+        if (bookingRepository.patch(bookingId, changes, expectedVersion, LocalDateTime.now()) == 0) {
+            if (!bookingRepository.existsByBookingId(bookingId)) {
+                throw new EntityNotFoundException("Booking not found: " + bookingId);
+            }
+            throw new OptimisticLockingFailureException(
+                "Booking " + bookingId + " has changed since version " + expectedVersion);
+        }
+        return bookingRepository.findViewByBookingId(bookingId).orElseThrow();
+    }
+
+    // Strings are trimmed and blank values cleared; dates are ISO dates
+    private static Object patchValue(Object value, Class<?> type) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof String text)) {
+            throw new IllegalArgumentException("Expected a string");
+        }
+        String trimmed = text.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        return type == LocalDate.class ? LocalDate.parse(trimmed) : trimmed;
+    }
+
+    public BookingDTO getBookingById(String bookingId) {
+        Booking booking = bookingRepository.findWithDetailsByBookingId(bookingId)
             .orElseThrow(() -> new RuntimeException("Booking not found: " + bookingId));
         
         BookingDTO dto = new BookingDTO();
@@ -31,6 +190,7 @@ public class BookingService {
         dto.setBookingDate(booking.getBookingDate());
         dto.setPassengers(booking.getPassengers());
         dto.setJettyPoint(booking.getJettyPoint().getId().toString());
+        dto.setJettyPointName(booking.getJettyPoint().getName());
         dto.setPackageId(booking.getPackageDetails().getId().toString());
         dto.setPackageName(booking.getPackageDetails().getName());
         dto.setCategoryName(booking.getPackageDetails().getCategory().getName());
@@ -39,12 +199,26 @@ public class BookingService {
         return dto;
     }
 
+    /**
+     * Moves the booking from INCOMPLETE to PENDING and queues the customer and admin emails in the
+     * same transaction. The emails are sent later by {@link EmailOutboxDispatcher}.
+     * <p>
+     * The transition is a single conditional UPDATE, so the booking is not loaded. Both statuses
+     * hold the same seats, so availability does not change.
+     *
+     * @throws BookingStateException if the booking is not INCOMPLETE
+     */
     @Transactional
-    public void updateBookingStatus(String bookingId, String status) {
-        Booking booking = bookingRepository.findByBookingId(bookingId)
-            .orElseThrow(() -> new RuntimeException("Booking not found: " + bookingId));
-        
-        booking.setStatus(Booking.BookingStatus.valueOf(status));
-        bookingRepository.save(booking);
+    public void submitBooking(String bookingId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (bookingRepository.transitionStatus(bookingId, BookingStatus.INCOMPLETE, BookingStatus.PENDING, now) == 0) {
+            BookingStatus current = bookingRepository.findStatusByBookingId(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found: " + bookingId));
+            throw new BookingStateException(bookingId, current, BookingStatus.PENDING);
+        }
+
+        emailOutboxRepository.saveAll(List.of(
+            new EmailOutboxMessage(bookingId, MessageType.CUSTOMER_CONFIRMATION, now),
+            new EmailOutboxMessage(bookingId, MessageType.ADMIN_NOTIFICATION, now)));
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,225 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+import com.rhumuda_new.rhumudasystem.exception.InvalidImportException;
+import com.rhumuda_new.rhumudasystem.repository.BookingBulkRepository;
+import com.rhumuda_new.rhumudasystem.repository.BookingRecord;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk booking export (CSV or NDJSON) and NDJSON import for reconciliation with the boat operators.
+ * <p>
+ * Both directions stream: an export writes each booking as it comes off the result set, and an import
+ * reads one line at a time and inserts in JDBC batches of {@code app.bookings.import.batch-size}. An
+ * import is all or nothing; if any line is malformed or invalid, nothing is saved.
+ */
+@Service
+public class BookingTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingTransferService.class);
+
+    // Stop reading once this many problems have been found
+    static final int MAX_ERRORS = 100;
+
+    static final String[] CSV_COLUMNS = {
+        "bookingId", "status", "firstName", "lastName", "phoneNumber", "email", "addressLine1", "addressLine2",
+        "postalCode", "city", "country", "jettyPointId", "jettyPointName", "packageId", "packageName",
+        "bookingDate", "passengers", "addOnIds", "alternativeDate1", "alternativeDate2", "specialRemarks",
+        "quotedTotal", "createdAt", "updatedAt"
+    };
+
+    @Autowired
+    private BookingBulkRepository bookingBulkRepository;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BookingIdGenerator bookingIdGenerator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.bookings.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Writes the bookings dated in {@code [from, to]} as CSV with a header row. Add-on IDs are
+     * separated by semicolons.
+     */
+    public void writeCsv(LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", CSV_COLUMNS));
+        writer.write("\r\n");
+        bookingBulkRepository.stream(from, to, record -> {
+            try {
+                writeCsvRow(writer, record);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    /**
+     * Writes the bookings dated in {@code [from, to]} as newline-delimited JSON, one booking per line.
+     */
+    public void writeNdjson(LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        try (SequenceWriter writer = objectMapper.writerFor(BookingRecord.class)
+                .withRootValueSeparator("\n")
+                .writeValues(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)))) {
+            bookingBulkRepository.stream(from, to, record -> {
+                try {
+                    writer.write(record);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Imports newline-delimited JSON bookings in the export format and returns how many were saved.
+     * Missing booking IDs are allocated, a missing status is INCOMPLETE and missing timestamps are now.
+     * The seats are added to availability as they are, without the capacity check, since the bookings
+     * already exist at the operator.
+     *
+     * @throws InvalidImportException if any line is malformed or invalid
+     * @throws IOException if the stream fails; batches already inserted are rolled back with the rest
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public int importNdjson(InputStream in) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(BookingRecord.class);
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> errors = new ArrayList<>();
+        List<BookingRecord> batch = new ArrayList<>(batchSize);
+        Map<Slot, Integer> seats = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        int imported = 0;
+        int lineNumber = 0;
+
+        String line;
+        while (errors.size() < MAX_ERRORS && (line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            BookingRecord record;
+            try {
+                record = reader.readValue(line);
+            } catch (JsonProcessingException e) {
+                errors.add("Line " + lineNumber + ": " + e.getOriginalMessage());
+                continue;
+            }
+            for (ConstraintViolation<BookingRecord> violation : validator.validate(record)) {
+                errors.add("Line " + lineNumber + ": " + violation.getMessage());
+            }
+            // Once a line has failed nothing will be saved, so only keep checking the rest
+            if (!errors.isEmpty()) {
+                continue;
+            }
+
+            record = withDefaults(record, now);
+            if (record.status() != BookingStatus.CANCELLED) {
+                // Before the record is inserted, so loading the route does not count it as well
+                availabilityService.loadRoute(new AvailabilityService.Route(record.packageId(), record.jettyPointId()));
+                seats.merge(new Slot(record.packageId(), record.jettyPointId(), record.bookingDate()), record.passengers(), Integer::sum);
+            }
+            batch.add(record);
+            if (batch.size() == batchSize) {
+                bookingBulkRepository.insertAll(batch);
+                imported += batch.size();
+                batch.clear();
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidImportException(errors);
+        }
+        if (!batch.isEmpty()) {
+            bookingBulkRepository.insertAll(batch);
+            imported += batch.size();
+        }
+
+        seats.forEach((slot, count) -> availabilityService.reserve(new AvailabilityService.Hold(
+                new AvailabilityService.Route(slot.packageId(), slot.jettyPointId()), slot.bookingDate(), count, null)));
+        logger.info("Imported {} bookings", imported);
+        return imported;
+    }
+
+    private record Slot(Long packageId, Long jettyPointId, LocalDate bookingDate) {
+    }
+
+    private BookingRecord withDefaults(BookingRecord record, LocalDateTime now) {
+        boolean blankId = record.bookingId() == null || record.bookingId().isBlank();
+        return new BookingRecord(
+                blankId ? bookingIdGenerator.nextBookingId() : record.bookingId().trim(),
+                record.status() != null ? record.status() : BookingStatus.INCOMPLETE,
+                record.firstName(), record.lastName(), record.phoneNumber(), record.email(),
+                record.addressLine1(), record.addressLine2(), record.postalCode(), record.city(), record.country(),
+                record.jettyPointId(), record.jettyPointName(), record.packageId(), record.packageName(),
+                record.bookingDate(), record.passengers(), record.addOnIds(),
+                record.alternativeDate1(), record.alternativeDate2(), record.specialRemarks(), record.quotedTotal(),
+                record.createdAt() != null ? record.createdAt() : now,
+                record.updatedAt() != null ? record.updatedAt() : now);
+    }
+
+    private static void writeCsvRow(Writer writer, BookingRecord record) throws IOException {
+        Object[] values = {
+            record.bookingId(), record.status(), record.firstName(), record.lastName(), record.phoneNumber(),
+            record.email(), record.addressLine1(), record.addressLine2(), record.postalCode(), record.city(),
+            record.country(), record.jettyPointId(), record.jettyPointName(), record.packageId(),
+            record.packageName(), record.bookingDate(), record.passengers(),
+            record.addOnIds().stream().map(String::valueOf).collect(Collectors.joining(";")),
+            record.alternativeDate1(), record.alternativeDate2(), record.specialRemarks(), record.quotedTotal(),
+            record.createdAt(), record.updatedAt()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(Objects.toString(values[i], "")));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: quote fields with separators, quotes or line breaks, doubling any quotes
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
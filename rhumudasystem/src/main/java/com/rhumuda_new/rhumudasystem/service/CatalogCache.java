@@ -0,0 +1,154 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded, versioned read-through cache for catalog data (packages, categories,
+ * add-ons and jetty points).
+ *
+ * Every entry remembers the catalog version it was loaded under. Invalidation bumps the
+ * version, so entries loaded concurrently with a write are never served afterwards.
+ *
+ * Writes through JPA invalidate the cache, but the catalog is mostly maintained in SQL, so
+ * the whole cache is also invalidated once it is older than {@code app.catalog.cache.ttl}, and
+ * by a lookup that misses an ID (see {@link #get(String, Supplier, Predicate)}). Either way
+ * the version moves, so everything built from the catalog, such as the
+ * {@link CatalogSnapshot}, is rebuilt too.
+ */
+@Component
+public class CatalogCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogCache.class);
+
+    private final AtomicLong version = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final Map<String, Entry> entries;
+    private final long ttlNanos;
+    private final long missReloadNanos;
+    private final LongSupplier clock;
+    // Clock reading at the last invalidation
+    private volatile long validSince;
+
+    @Autowired
+    public CatalogCache(@Value("${app.catalog.cache.max-entries:256}") int maxEntries,
+                        @Value("${app.catalog.cache.ttl:PT5M}") Duration ttl,
+                        @Value("${app.catalog.cache.miss-reload-interval:PT10S}") Duration missReloadInterval) {
+        this(maxEntries, ttl, missReloadInterval, System::nanoTime);
+    }
+
+    CatalogCache(int maxEntries, Duration ttl, Duration missReloadInterval, LongSupplier clock) {
+        this.ttlNanos = ttl.toNanos();
+        this.missReloadNanos = missReloadInterval.toNanos();
+        this.clock = clock;
+        this.validSince = clock.getAsLong();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        long loadVersion = getVersion();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.version() == loadVersion) {
+            hits.increment();
+            return (T) entry.value();
+        }
+
+        misses.increment();
+        T value = loader.get();
+        synchronized (entries) {
+            // Skip the store if the catalog changed while we were loading
+            if (version.get() == loadVersion) {
+                entries.put(key, new Entry(loadVersion, value));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Like {@link #get(String, Supplier)}, but invalidates the cache and loads again when {@code found}
+     * rejects the cached value, e.g. because a package added in the database is not in it yet. This
+     * happens only if the cache is at least {@code app.catalog.cache.miss-reload-interval} old, so
+     * requests for IDs that do not exist cannot turn every lookup into a query.
+     */
+    public <T> T get(String key, Supplier<T> loader, Predicate<T> found) {
+        long loadVersion = getVersion();
+        T value = get(key, loader);
+        if (found.test(value)) {
+            return value;
+        }
+        synchronized (this) {
+            // Another miss may have invalidated already; then just look again
+            if (version.get() == loadVersion) {
+                if (clock.getAsLong() - validSince < missReloadNanos) {
+                    return value;
+                }
+                invalidate();
+            }
+        }
+        return get(key, loader);
+    }
+
+    public synchronized void invalidate() {
+        long newVersion = version.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+        validSince = clock.getAsLong();
+        logger.debug("Catalog cache invalidated, now at version {}", newVersion);
+    }
+
+    /**
+     * Returns the catalog version, first invalidating the cache if it has outlived its TTL.
+     */
+    public long getVersion() {
+        if (clock.getAsLong() - validSince >= ttlNanos) {
+            synchronized (this) {
+                if (clock.getAsLong() - validSince >= ttlNanos) {
+                    invalidate();
+                }
+            }
+        }
+        return version.get();
+    }
+
+    public Stats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(version.get(), size, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private record Entry(long version, Object value) {
+    }
+
+    public record Stats(long version, int size, long hits, long misses, long evictions) {
+    }
+}
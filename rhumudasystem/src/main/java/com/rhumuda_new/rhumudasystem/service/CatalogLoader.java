@@ -0,0 +1,88 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.entity.AddOn;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.repository.AddOnRepository;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
+
+/**
+ * Loads catalog data from the database for {@link CatalogCache}.
+ *
+ * Only called on a cache miss, so a transaction (and a connection) is only opened when
+ * the data actually has to be read. Associations that are serialized later are fetched
+ * here because the returned entities outlive the persistence context.
+ */
+@Component
+public class CatalogLoader {
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private PackageCategoryRepository packageCategoryRepository;
+
+    @Autowired
+    private AddOnRepository addOnRepository;
+
+    @Autowired
+    private JettyPointRepository jettyPointRepository;
+
+    @Transactional(readOnly = true)
+    public List<Package> loadActivePackages(Long categoryId) {
+        return List.copyOf(packageRepository.findActiveWithDetailsByCategoryId(categoryId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PackageCategory> loadCategories() {
+        return List.copyOf(packageCategoryRepository.findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<PackageCategory> loadCategory(Long id) {
+        return packageCategoryRepository.findById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AddOn> loadActiveAddOns() {
+        return List.copyOf(addOnRepository.findByIsActiveTrue());
+    }
+
+    @Transactional(readOnly = true)
+    public List<JettyPoint> loadActiveJettyPoints() {
+        return List.copyOf(jettyPointRepository.findByIsActiveTrue());
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, String> loadJettyPointNames() {
+        // Inactive jetty points are included: existing bookings may still refer to them
+        return jettyPointRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(JettyPoint::getId, JettyPoint::getName));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, OptionalInt> loadPackageCapacities() {
+        // Every package is listed; one without a max capacity maps to empty and is unlimited
+        return packageRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Package::getId,
+                        p -> p.getMaxCapacity() != null ? OptionalInt.of(p.getMaxCapacity()) : OptionalInt.empty()));
+    }
+
+    @Transactional(readOnly = true)
+    public PriceList loadPriceList() {
+        // Inactive packages and add-ons are priced too: existing bookings may still refer to them
+        return PriceList.compile(packageRepository.findAllWithPriceTiers(), addOnRepository.findAll());
+    }
+}
@@ -0,0 +1,85 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.entity.AddOn;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Read access to the catalog (packages, categories, add-ons and jetty points).
+ *
+ * Reads are served from {@link CatalogCache}; the database is only queried on a miss. Lookups by ID
+ * reload their entry when the ID is not in it, so rows added in SQL are found without a restart.
+ * Returned entities are shared between requests and must be treated as read-only.
+ */
+@Service
+public class CatalogService {
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CatalogLoader catalogLoader;
+
+    public List<Package> getActivePackages(Long categoryId) {
+        return catalogCache.get("packages:category:" + categoryId, () -> catalogLoader.loadActivePackages(categoryId));
+    }
+
+    public List<PackageCategory> getCategories() {
+        return catalogCache.get("categories", catalogLoader::loadCategories);
+    }
+
+    public Optional<PackageCategory> getCategory(Long id) {
+        return catalogCache.get("category:" + id, () -> catalogLoader.loadCategory(id), Optional::isPresent);
+    }
+
+    public List<AddOn> getActiveAddOns() {
+        return catalogCache.get("addons:active", catalogLoader::loadActiveAddOns);
+    }
+
+    public List<JettyPoint> getActiveJettyPoints() {
+        return catalogCache.get("jettypoints:active", catalogLoader::loadActiveJettyPoints);
+    }
+
+    public Optional<String> getJettyPointName(Long id) {
+        Map<Long, String> names = catalogCache.get("jettypoints:names", catalogLoader::loadJettyPointNames,
+            loaded -> loaded.containsKey(id));
+        return Optional.ofNullable(names.get(id));
+    }
+
+    /**
+     * Returns the package's max capacity, or empty when it has none or does not exist.
+     */
+    public OptionalInt getPackageCapacity(Long packageId) {
+        return packageCapacities(packageId).getOrDefault(packageId, OptionalInt.empty());
+    }
+
+    public boolean hasPackage(Long packageId) {
+        return packageCapacities(packageId).containsKey(packageId);
+    }
+
+    private Map<Long, OptionalInt> packageCapacities(Long packageId) {
+        return catalogCache.get("packages:capacity", catalogLoader::loadPackageCapacities,
+            loaded -> loaded.containsKey(packageId));
+    }
+
+    /**
+     * Returns the price list, reloading it if it is missing the package or any of the add-ons.
+     */
+    public PriceList getPriceList(Long packageId, Collection<Long> addOnIds) {
+        return catalogCache.get("pricelist", catalogLoader::loadPriceList,
+            loaded -> loaded.packageRate(packageId) != null && addOnIds.stream().allMatch(id -> loaded.addOnRate(id) != null));
+    }
+
+    public long getVersion() {
+        return catalogCache.getVersion();
+    }
+}
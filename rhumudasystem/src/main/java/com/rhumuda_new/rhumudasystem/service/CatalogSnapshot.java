@@ -0,0 +1,49 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import java.util.Map;
+
+/**
+ * Immutable, pre-serialized view of the public catalog at one catalog version.
+ *
+ * Each endpoint payload is rendered to JSON once when the snapshot is built and then
+ * written to responses as-is, together with a strong ETag derived from the bytes.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final Map<Long, RenderedJson> packagesByCategory;
+    private final RenderedJson emptyPackages;
+    private final RenderedJson addOns;
+    private final RenderedJson jettyPoints;
+
+    CatalogSnapshot(long version, Map<Long, RenderedJson> packagesByCategory, RenderedJson emptyPackages,
+                    RenderedJson addOns, RenderedJson jettyPoints) {
+        this.version = version;
+        this.packagesByCategory = Map.copyOf(packagesByCategory);
+        this.emptyPackages = emptyPackages;
+        this.addOns = addOns;
+        this.jettyPoints = jettyPoints;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public RenderedJson getPackages(Long categoryId) {
+        return packagesByCategory.getOrDefault(categoryId, emptyPackages);
+    }
+
+    public RenderedJson getAddOns() {
+        return addOns;
+    }
+
+    public RenderedJson getJettyPoints() {
+        return jettyPoints;
+    }
+
+    /**
+     * JSON bytes and their ETag. The array is shared between responses and must not be modified.
+     */
+    public record RenderedJson(byte[] body, String etag) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a {@link CatalogSnapshot} in step with {@link CatalogCache}.
+ *
+ * The snapshot is rebuilt on the first request after the catalog version moves, so
+ * steady-state reads neither query the database nor run Jackson.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot;
+        if (current != null && current.getVersion() == catalogService.getVersion()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || current.getVersion() != catalogService.getVersion()) {
+                current = build();
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private CatalogSnapshot build() {
+        // Read the version first: if the catalog changes mid-build the next call rebuilds
+        long version = catalogService.getVersion();
+
+        Map<Long, CatalogSnapshot.RenderedJson> packagesByCategory = new HashMap<>();
+        for (PackageCategory category : catalogService.getCategories()) {
+            packagesByCategory.put(category.getId(), render(catalogService.getActivePackages(category.getId())));
+        }
+
+        CatalogSnapshot built = new CatalogSnapshot(
+            version,
+            packagesByCategory,
+            render(List.of()),
+            render(catalogService.getActiveAddOns()),
+            render(catalogService.getActiveJettyPoints()));
+        logger.info("Catalog snapshot built for version {} ({} categories)", version, packagesByCategory.size());
+        return built;
+    }
+
+    private CatalogSnapshot.RenderedJson render(Object value) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            return new CatalogSnapshot.RenderedJson(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to render catalog snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.entity.IdempotencyRecord;
+import com.rhumuda_new.rhumudasystem.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Idempotency keys in the {@code idempotency_keys} table, shared by every instance. A key is claimed
+ * by inserting its row, so the primary key decides which of two concurrent requests runs. Enabled
+ * with {@code app.idempotency.store=database}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseIdempotencyStore.class);
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Override
+    public Claim claim(String key, String requestHash, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyRecordRepository.deleteIfExpired(key, now);
+        try {
+            idempotencyRecordRepository.insertClaim(key, requestHash, now.plus(ttl));
+            return Claim.acquired();
+        } catch (DataIntegrityViolationException e) {
+            Optional<IdempotencyRecord> record = idempotencyRecordRepository.findById(key);
+            if (record.isEmpty()) {
+                // Released between our insert and read; let the client retry
+                return Claim.inProgress();
+            }
+            // Rows claimed before request hashes were recorded have none and match any request
+            String claimedHash = record.get().getRequestHash();
+            if (claimedHash != null && !claimedHash.equals(requestHash)) {
+                return Claim.mismatched();
+            }
+            Integer status = record.get().getResponseStatus();
+            return status == null
+                    ? Claim.inProgress()
+                    : Claim.completed(new StoredResponse(status, record.get().getResponseBody()));
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        idempotencyRecordRepository.complete(key, response.status(), response.body());
+    }
+
+    @Override
+    public void release(String key) {
+        idempotencyRecordRepository.deleteById(key);
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.debug("Purged {} expired idempotency key(s)", purged);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.dto.BookingDTO;
+import com.rhumuda_new.rhumudasystem.entity.EmailOutboxMessage;
+import com.rhumuda_new.rhumudasystem.entity.EmailOutboxMessage.OutboxStatus;
+import com.rhumuda_new.rhumudasystem.repository.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.mail.internet.MimeMessage;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the email outbox. Each poll sends up to {@code app.mail.outbox.batch-size} messages over a
+ * single SMTP connection. A partial batch is held back until its oldest message has waited
+ * {@code app.mail.outbox.linger}, so bursts of submissions share a connection. Failed sends are
+ * retried with exponential backoff until {@code app.mail.outbox.max-attempts} is reached, after
+ * which the message is marked FAILED.
+ * <p>
+ * Due messages are claimed one by one before they are sent, so overlapping polls (several instances,
+ * or a slow run meeting the next one) never send the same message twice. A claim is a lease of
+ * {@code app.mail.outbox.lease}: if this instance dies before recording the result, the message is
+ * picked up again once the lease runs out.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.linger:PT0S}")
+    private Duration linger;
+
+    @Value("${app.mail.outbox.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${app.mail.outbox.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:PT5S}",
+               initialDelayString = "${app.mail.outbox.initial-delay:PT10S}")
+    public void dispatchDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> due = emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+        if (due.isEmpty() || isLingering(due, now)) {
+            return;
+        }
+        List<EmailOutboxMessage> claimed = claim(due, now);
+        if (claimed.isEmpty()) {
+            return;
+        }
+        logger.info("Dispatching {} outbox email(s)", claimed.size());
+
+        Map<MimeMessage, EmailOutboxMessage> prepared = prepare(claimed);
+        send(prepared);
+        emailOutboxRepository.saveAll(claimed);
+    }
+
+    private List<EmailOutboxMessage> claim(List<EmailOutboxMessage> due, LocalDateTime now) {
+        LocalDateTime leaseUntil = now.plus(lease);
+        List<EmailOutboxMessage> claimed = new ArrayList<>(due.size());
+        for (EmailOutboxMessage message : due) {
+            // 0 rows means another dispatcher claimed or finished it since we read it
+            if (emailOutboxRepository.claim(message.getId(), OutboxStatus.PENDING, message.getNextAttemptAt(), leaseUntil) == 1) {
+                claimed.add(message);
+            }
+        }
+        return claimed;
+    }
+
+    private boolean isLingering(List<EmailOutboxMessage> due, LocalDateTime now) {
+        if (due.size() >= batchSize || linger.isZero()) {
+            return false;
+        }
+        LocalDateTime oldest = due.stream()
+                .map(EmailOutboxMessage::getNextAttemptAt)
+                .min(Comparator.naturalOrder())
+                .orElse(now);
+        return oldest.plus(linger).isAfter(now);
+    }
+
+    private Map<MimeMessage, EmailOutboxMessage> prepare(List<EmailOutboxMessage> due) {
+        // Customer and admin messages for the same booking share one lookup
+        Map<String, BookingDTO> bookings = new HashMap<>();
+        Map<MimeMessage, EmailOutboxMessage> prepared = new LinkedHashMap<>();
+        for (EmailOutboxMessage message : due) {
+            try {
+                BookingDTO booking = bookings.computeIfAbsent(message.getBookingId(), bookingService::getBookingById);
+                MimeMessage mimeMessage = switch (message.getType()) {
+                    case CUSTOMER_CONFIRMATION -> emailService.createCustomerMessage(booking);
+                    case ADMIN_NOTIFICATION -> emailService.createAdminMessage(booking);
+                };
+                prepared.put(mimeMessage, message);
+            } catch (Exception e) {
+                recordFailure(message, e);
+            }
+        }
+        return prepared;
+    }
+
+    private void send(Map<MimeMessage, EmailOutboxMessage> prepared) {
+        Map<Object, Exception> failed = Map.of();
+        try {
+            emailService.sendAll(new ArrayList<>(prepared.keySet()));
+        } catch (MailSendException e) {
+            failed = e.getFailedMessages();
+            if (failed.isEmpty()) {
+                failAll(prepared, e);
+                return;
+            }
+        } catch (MailException e) {
+            // Connection or authentication problem, nothing in the batch went out
+            failAll(prepared, e);
+            return;
+        }
+
+        LocalDateTime sentAt = LocalDateTime.now();
+        for (Map.Entry<MimeMessage, EmailOutboxMessage> entry : prepared.entrySet()) {
+            EmailOutboxMessage message = entry.getValue();
+            Exception failure = failed.get(entry.getKey());
+            if (failure != null) {
+                recordFailure(message, failure);
+            } else {
+                message.setStatus(OutboxStatus.SENT);
+                message.setSentAt(sentAt);
+                message.setLastError(null);
+            }
+        }
+    }
+
+    private void failAll(Map<MimeMessage, EmailOutboxMessage> prepared, Exception e) {
+        for (EmailOutboxMessage message : prepared.values()) {
+            recordFailure(message, e);
+        }
+    }
+
+    private void recordFailure(EmailOutboxMessage message, Exception e) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+
+        if (attempts >= maxAttempts) {
+            message.setStatus(OutboxStatus.FAILED);
+            logger.error("Giving up on {} email for booking {} after {} attempts",
+                    message.getType(), message.getBookingId(), attempts, e);
+            return;
+        }
+
+        Duration backoff = backoffFor(attempts);
+        message.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        logger.warn("Failed to send {} email for booking {} (attempt {}), retrying in {}: {}",
+                message.getType(), message.getBookingId(), attempts, backoff, e.getMessage());
+    }
+
+    Duration backoffFor(int attempts) {
+        // initialBackoff * 2^(attempts - 1), capped; the shift is bounded to avoid overflow
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
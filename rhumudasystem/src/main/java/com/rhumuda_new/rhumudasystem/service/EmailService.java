@@ -1,12 +1,20 @@
 package com.rhumuda_new.rhumudasystem.service;
 
+import jakarta.activation.DataHandler;
+import jakarta.activation.DataSource;
 import jakarta.annotation.PostConstruct;
 import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.PreencodedMimeBodyPart;
+import jakarta.mail.util.ByteArrayDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.mail.javamail.MimeMessagePreparator;
@@ -14,12 +22,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StreamUtils;
 
 import com.rhumuda_new.rhumudasystem.dto.BookingDTO;
-import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
-import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
 
 import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
-import java.util.Optional;
+import java.util.Base64;
+import java.util.List;
 
 @Service
 public class EmailService {
@@ -31,7 +38,7 @@ public class EmailService {
     private JavaMailSender mailSender;
 
     @Autowired
-    private JettyPointRepository jettyPointRepository;
+    private CatalogService catalogService;
 
     @Value("${spring.mail.username}")
     private String fromEmail;
@@ -39,7 +46,10 @@ public class EmailService {
     @Value("${admin.email:admin@rhumudaboatcharter.com.my}")
     private String adminEmail;
 
-    private String emailTemplate;
+    private EmailTemplate emailTemplate;
+
+    // Logo bytes, base64-encoded once at startup and shared by every message
+    private DataSource logoDataSource;
 
     @PostConstruct
     public void init() {
@@ -48,18 +58,32 @@ public class EmailService {
         // Load email template
         try {
             ClassPathResource resource = new ClassPathResource("templates/email/booking-confirmation.html");
-            emailTemplate = StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
-            logger.info("Email template loaded successfully");
+            emailTemplate = EmailTemplate.compile(StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8));
+            logger.info("Email template loaded and compiled successfully");
         } catch (Exception e) {
             logger.error("Failed to load email template", e);
             emailTemplate = null;
         }
+
+        // Load and pre-encode the inline logo
+        try {
+            ClassPathResource logoResource = new ClassPathResource("static/images/logo-rhumuda.png");
+            byte[] encoded = Base64.getMimeEncoder().encode(StreamUtils.copyToByteArray(logoResource.getInputStream()));
+            logoDataSource = new ByteArrayDataSource(encoded, "image/png");
+            logger.info("Email logo loaded ({} bytes encoded)", encoded.length);
+        } catch (Exception e) {
+            logger.error("Failed to load email logo, emails will be sent without it", e);
+            logoDataSource = null;
+        }
     }
 
-    private String getJettyPointName(String jettyPointId) {
+    private String getJettyPointName(BookingDTO booking) {
+        if (booking.getJettyPointName() != null) {
+            return booking.getJettyPointName();
+        }
+        String jettyPointId = booking.getJettyPoint();
         try {
-            Optional<JettyPoint> jettyPoint = jettyPointRepository.findById(Long.parseLong(jettyPointId));
-            return jettyPoint.map(JettyPoint::getName).orElse(jettyPointId);
+            return catalogService.getJettyPointName(Long.parseLong(jettyPointId)).orElse(jettyPointId);
         } catch (NumberFormatException e) {
             logger.warn("Invalid jetty point ID format: {}", jettyPointId);
             return jettyPointId;
@@ -71,7 +95,7 @@ public class EmailService {
         sendAdminEmail(booking);
     }
 
-    private void sendCustomerEmail(BookingDTO booking) throws MessagingException {
+    void sendCustomerEmail(BookingDTO booking) throws MessagingException {
         MimeMessagePreparator preparator = createEmailMessage(booking.getEmail(), "Booking Inquiry Confirmation - Rhumuda Boat Charter", prepareCustomerEmailContent(booking));
         try {
             mailSender.send(preparator);
@@ -82,23 +106,50 @@ public class EmailService {
         }
     }
 
+    /**
+     * Builds the customer confirmation without sending it, so callers can send several messages
+     * over one SMTP connection via {@link #sendAll(List)}.
+     */
+    public MimeMessage createCustomerMessage(BookingDTO booking) throws MessagingException {
+        return createMimeMessage(createEmailMessage(booking.getEmail(), "Booking Inquiry Confirmation - Rhumuda Boat Charter", prepareCustomerEmailContent(booking)));
+    }
+
+    /**
+     * Builds the admin notification without sending it.
+     */
+    public MimeMessage createAdminMessage(BookingDTO booking) throws MessagingException {
+        return createMimeMessage(createEmailMessage(adminEmail, "New Booking Inquiry - " + booking.getBookingId(), prepareAdminEmailContent(booking)));
+    }
+
+    /**
+     * Sends all messages in a single {@link JavaMailSender#send(MimeMessage...)} call, which opens one
+     * transport connection (and does STARTTLS and auth once) for the whole batch. Messages that could
+     * not be delivered are reported through {@link MailSendException#getFailedMessages()}.
+     */
+    public void sendAll(List<MimeMessage> messages) throws MailException {
+        if (messages.isEmpty()) {
+            return;
+        }
+        mailSender.send(messages.toArray(new MimeMessage[0]));
+        logger.info("Sent {} email(s) over one connection", messages.size());
+    }
+
+    private MimeMessage createMimeMessage(MimeMessagePreparator preparator) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        try {
+            preparator.prepare(mimeMessage);
+        } catch (MessagingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MessagingException("Failed to prepare email", e);
+        }
+        return mimeMessage;
+    }
+
     private String prepareCustomerEmailContent(BookingDTO booking) {
         String content;
         if (emailTemplate != null) {
-            content = emailTemplate
-                    .replace("${bookingId}", booking.getBookingId())
-                    .replace("${firstName}", booking.getFirstName())
-                    .replace("${lastName}", booking.getLastName())
-                    .replace("${email}", booking.getEmail())
-                    .replace("${phoneNumber}", booking.getPhoneNumber())
-                    .replace("${addressLine1}", booking.getAddressLine1())
-                    .replace("${addressLine2}", booking.getAddressLine2() != null ? booking.getAddressLine2() : "")
-                    .replace("${categoryName}", booking.getCategoryName() != null ? booking.getCategoryName() : "")
-                    .replace("${packageName}", booking.getPackageName() != null ? booking.getPackageName() : "")
-                    .replace("${jettyName}", getJettyPointName(booking.getJettyPoint()))
-                    .replace("${bookingDate}", booking.getBookingDate().format(DATE_FORMATTER))
-                    .replace("${passengers}", String.valueOf(booking.getPassengers()));
-
+            content = emailTemplate.render(name -> customerTemplateValue(booking, name));
             logger.info("Email content prepared with template");
         } else {
             content = generatePlainTextEmail(booking);
@@ -107,6 +158,28 @@ public class EmailService {
         return content;
     }
 
+    private String customerTemplateValue(BookingDTO booking, String placeholder) {
+        return switch (placeholder) {
+            case "bookingId" -> nullToEmpty(booking.getBookingId());
+            case "firstName" -> nullToEmpty(booking.getFirstName());
+            case "lastName" -> nullToEmpty(booking.getLastName());
+            case "email" -> nullToEmpty(booking.getEmail());
+            case "phoneNumber" -> nullToEmpty(booking.getPhoneNumber());
+            case "addressLine1" -> nullToEmpty(booking.getAddressLine1());
+            case "addressLine2" -> nullToEmpty(booking.getAddressLine2());
+            case "categoryName" -> nullToEmpty(booking.getCategoryName());
+            case "packageName" -> nullToEmpty(booking.getPackageName());
+            case "jettyName" -> nullToEmpty(getJettyPointName(booking));
+            case "bookingDate" -> booking.getBookingDate().format(DATE_FORMATTER);
+            case "passengers" -> String.valueOf(booking.getPassengers());
+            default -> null;
+        };
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
     private MimeMessagePreparator createEmailMessage(String to, String subject, String content) {
         return mimeMessage -> {
             MimeMessageHelper messageHelper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
@@ -114,13 +187,23 @@ public class EmailService {
             messageHelper.setTo(to);
             messageHelper.setSubject(subject);
             messageHelper.setText(content, true);
-            
+
             // Add logo
-            ClassPathResource logoResource = new ClassPathResource("static/images/logo-rhumuda.png");
-            messageHelper.addInline("logo", logoResource);
+            if (logoDataSource != null) {
+                messageHelper.getMimeMultipart().addBodyPart(createLogoPart());
+            }
         };
     }
 
+    private MimeBodyPart createLogoPart() throws MessagingException {
+        // The data source already holds base64 text, so it is written as-is instead of re-encoded
+        PreencodedMimeBodyPart logoPart = new PreencodedMimeBodyPart("base64");
+        logoPart.setDataHandler(new DataHandler(logoDataSource));
+        logoPart.setDisposition(MimeBodyPart.INLINE);
+        logoPart.setContentID("<logo>");
+        return logoPart;
+    }
+
     private String generatePlainTextEmail(BookingDTO booking) {
         return String.format(
                 """
@@ -158,12 +241,12 @@ public class EmailService {
                 booking.getAddressLine2() != null ? booking.getAddressLine2() : "",
                 booking.getCategoryName() != null ? booking.getCategoryName() : "",
                 booking.getPackageName() != null ? booking.getPackageName() : "",
-                getJettyPointName(booking.getJettyPoint()),
+                getJettyPointName(booking),
                 booking.getBookingDate().format(DATE_FORMATTER),
                 booking.getPassengers());
     }
 
-    private void sendAdminEmail(BookingDTO booking) throws MessagingException {
+    void sendAdminEmail(BookingDTO booking) throws MessagingException {
         MimeMessagePreparator preparator = createEmailMessage(adminEmail, "New Booking Inquiry - " + booking.getBookingId(), prepareAdminEmailContent(booking));
         try {
             mailSender.send(preparator);
@@ -199,15 +282,15 @@ public class EmailService {
                 </body>
                 </html>
                 """,
-                booking.getBookingId(),
-                booking.getFirstName(), booking.getLastName(),
-                booking.getEmail(),
-                booking.getPhoneNumber(),
-                booking.getAddressLine1(),
-                booking.getAddressLine2() != null ? booking.getAddressLine2() : "",
-                booking.getCategoryName() != null ? booking.getCategoryName() : "",
-                booking.getPackageName() != null ? booking.getPackageName() : "",
-                getJettyPointName(booking.getJettyPoint()),
+                EmailTemplate.escapeHtml(booking.getBookingId()),
+                EmailTemplate.escapeHtml(booking.getFirstName()), EmailTemplate.escapeHtml(booking.getLastName()),
+                EmailTemplate.escapeHtml(booking.getEmail()),
+                EmailTemplate.escapeHtml(booking.getPhoneNumber()),
+                EmailTemplate.escapeHtml(booking.getAddressLine1()),
+                EmailTemplate.escapeHtml(booking.getAddressLine2()),
+                EmailTemplate.escapeHtml(booking.getCategoryName()),
+                EmailTemplate.escapeHtml(booking.getPackageName()),
+                EmailTemplate.escapeHtml(getJettyPointName(booking)),
                 booking.getBookingDate().format(DATE_FORMATTER),
                 booking.getPassengers());
     }
@@ -0,0 +1,97 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * An HTML email template compiled once into alternating literal chunks and
+ * {@code ${name}} placeholder slots.
+ *
+ * Rendering walks the segments once and appends into a single buffer sized for the
+ * literals plus a per-slot allowance, instead of copying the whole document for every
+ * placeholder. Values are HTML-escaped as they are appended.
+ */
+public final class EmailTemplate {
+
+    private static final int SLOT_SIZE_HINT = 32;
+
+    private final String[] literals;
+    private final String[] slots;
+    private final int sizeHint;
+
+    private EmailTemplate(String[] literals, String[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        int literalLength = 0;
+        for (String literal : literals) {
+            literalLength += literal.length();
+        }
+        this.sizeHint = literalLength + slots.length * SLOT_SIZE_HINT;
+    }
+
+    public static EmailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int start = source.indexOf("${", position);
+            int end = start < 0 ? -1 : source.indexOf('}', start + 2);
+            if (end < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            literals.add(source.substring(position, start));
+            slots.add(source.substring(start + 2, end));
+            position = end + 1;
+        }
+        return new EmailTemplate(literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    /**
+     * Renders the template. The resolver maps a placeholder name to its raw (unescaped) value;
+     * returning {@code null} leaves the placeholder in the output untouched.
+     */
+    public String render(Function<String, String> resolver) {
+        StringBuilder out = new StringBuilder(sizeHint);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            String value = resolver.apply(slots[i]);
+            if (value == null) {
+                out.append("${").append(slots[i]).append('}');
+            } else {
+                appendEscaped(out, value);
+            }
+        }
+        out.append(literals[slots.length]);
+        return out.toString();
+    }
+
+    public static String escapeHtml(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(value.length() + 16);
+        appendEscaped(out, value);
+        return out.toString();
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        int runStart = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (replacement != null) {
+                out.append(value, runStart, i).append(replacement);
+                runStart = i + 1;
+            }
+        }
+        out.append(value, runStart, value.length());
+    }
+}
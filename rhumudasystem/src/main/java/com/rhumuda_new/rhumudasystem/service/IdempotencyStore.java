@@ -0,0 +1,61 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import java.time.Duration;
+
+/**
+ * Remembers the response sent for each idempotency key, so a repeated request can be answered
+ * without running it again. Each key also records a hash of the request it was first used with, so a
+ * key reused for a different request is not answered with another request's response. See
+ * {@link IdempotentRequests}.
+ */
+public interface IdempotencyStore {
+
+    enum State {
+        // The caller owns the key and must complete or release it
+        ACQUIRED,
+        // Another request with this key is still running
+        IN_PROGRESS,
+        // The key has a recorded response
+        COMPLETED,
+        // The key was first used with a different request
+        MISMATCHED
+    }
+
+    record StoredResponse(int status, String body) {
+    }
+
+    record Claim(State state, StoredResponse response) {
+
+        static Claim acquired() {
+            return new Claim(State.ACQUIRED, null);
+        }
+
+        static Claim inProgress() {
+            return new Claim(State.IN_PROGRESS, null);
+        }
+
+        static Claim completed(StoredResponse response) {
+            return new Claim(State.COMPLETED, response);
+        }
+
+        static Claim mismatched() {
+            return new Claim(State.MISMATCHED, null);
+        }
+    }
+
+    /**
+     * Claims {@code key} for {@code ttl} on behalf of the request hashing to {@code requestHash}, or
+     * reports what is already recorded under it.
+     */
+    Claim claim(String key, String requestHash, Duration ttl);
+
+    /**
+     * Records the response for a key claimed with {@link #claim}.
+     */
+    void complete(String key, StoredResponse response);
+
+    /**
+     * Forgets a claimed key so the request can be retried.
+     */
+    void release(String key);
+}
@@ -0,0 +1,132 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rhumuda_new.rhumudasystem.dto.ApiError;
+import com.rhumuda_new.rhumudasystem.service.IdempotencyStore.Claim;
+import com.rhumuda_new.rhumudasystem.service.IdempotencyStore.StoredResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per {@code Idempotency-Key}. The first request with a key runs and its
+ * response is recorded; repeats get the recorded response back without running again. A repeat that
+ * arrives while the first is still running gets a 409, and one with a different request body gets a
+ * 422. Server errors are not recorded, so they can be retried with the same key.
+ * <p>
+ * Keys are scoped by the caller (typically method and path), and requests without a key run as usual.
+ * The store sees a SHA-256 of scope and key, so a long path cannot push it past the key column.
+ */
+@Component
+public class IdempotentRequests {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 100;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl:PT24H}")
+    private Duration ttl;
+
+    /**
+     * @param requestBody the request's body, or null if it has none; repeats must send an equal body
+     */
+    public ResponseEntity<?> execute(String scope, String idempotencyKey, Object requestBody,
+                                     Supplier<ResponseEntity<?>> request) {
+        if (idempotencyKey == null || idempotencyKey.trim().isEmpty()) {
+            return request.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity
+                .badRequest()
+                .body(new ApiError(HttpStatus.BAD_REQUEST.value(), "Invalid idempotency key",
+                    HEADER + " must be at most " + MAX_KEY_LENGTH + " characters"));
+        }
+
+        String key = sha256(scope + " " + idempotencyKey.trim());
+        Claim claim = idempotencyStore.claim(key, requestHash(requestBody), ttl);
+        switch (claim.state()) {
+            case COMPLETED:
+                return toResponse(claim.response(), true);
+            case IN_PROGRESS:
+                return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(new ApiError(HttpStatus.CONFLICT.value(), "Request in progress",
+                        "A request with this " + HEADER + " is still being processed"));
+            case MISMATCHED:
+                return ResponseEntity
+                    .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(new ApiError(HttpStatus.UNPROCESSABLE_ENTITY.value(), "Idempotency key reused",
+                        "This " + HEADER + " was already used with a different request"));
+            default:
+                break;
+        }
+
+        StoredResponse response;
+        try {
+            response = record(request.get());
+        } catch (RuntimeException | Error e) {
+            idempotencyStore.release(key);
+            throw e;
+        }
+        if (response.status() >= 500) {
+            idempotencyStore.release(key);
+        } else {
+            idempotencyStore.complete(key, response);
+        }
+        return toResponse(response, false);
+    }
+
+    private String requestHash(Object requestBody) {
+        try {
+            return sha256(requestBody != null ? objectMapper.writeValueAsString(requestBody) : "");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not hash request", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private StoredResponse record(ResponseEntity<?> response) {
+        try {
+            String body = response.getBody() != null ? objectMapper.writeValueAsString(response.getBody()) : null;
+            return new StoredResponse(response.getStatusCode().value(), body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not record response", e);
+        }
+    }
+
+    private static ResponseEntity<?> toResponse(StoredResponse response, boolean replayed) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.status());
+        if (replayed) {
+            builder.header(REPLAYED_HEADER, "true");
+        }
+        if (response.body() == null) {
+            return builder.build();
+        }
+        return builder.contentType(MediaType.APPLICATION_JSON).body(response.body());
+    }
+}
@@ -0,0 +1,95 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Idempotency keys held in memory by this instance. Keys are kept in the order they were claimed and
+ * expire after their TTL; once {@code app.idempotency.max-entries} is reached the oldest completed
+ * keys are dropped early. Keys still in progress are never dropped, so a slow request cannot be run a
+ * second time. Only suitable for a single instance; use {@link DatabaseIdempotencyStore} otherwise.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private record Entry(String requestHash, StoredResponse response, long expiresAt) {
+    }
+
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    @Autowired
+    public InMemoryIdempotencyStore(@Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this(maxEntries, System::nanoTime);
+    }
+
+    InMemoryIdempotencyStore(int maxEntries, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized Claim claim(String key, String requestHash, Duration ttl) {
+        long now = clock.getAsLong();
+        purgeExpired(now);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= maxEntries) {
+                evictOldestCompleted();
+            }
+            entries.put(key, new Entry(requestHash, null, now + ttl.toNanos()));
+            return Claim.acquired();
+        }
+        if (!Objects.equals(entry.requestHash(), requestHash)) {
+            return Claim.mismatched();
+        }
+        return entry.response() == null ? Claim.inProgress() : Claim.completed(entry.response());
+    }
+
+    @Override
+    public synchronized void complete(String key, StoredResponse response) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entries.put(key, new Entry(entry.requestHash(), response, entry.expiresAt()));
+        }
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        entries.remove(key);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    // Every key gets the same TTL, so the expired ones are at the head of the map
+    private void purgeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAt() - now <= 0) {
+            iterator.remove();
+        }
+    }
+
+    // If every key is still in progress the store grows past its bound until one completes
+    private void evictOldestCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().response() != null) {
+                iterator.remove();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.entity.AddOn;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PriceTier;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable pricing rules for every package and add-on, compiled once per catalog version.
+ * <p>
+ * Each package's tiers are reduced to a {@link PackageRate} and each add-on to an {@link AddOnRate}.
+ * Amounts are kept in sen (cents) as {@code long}, so a quote is a few multiplications and map lookups.
+ * <ul>
+ *   <li>A FIXED tier prices the whole package, whatever the number of passengers.</li>
+ *   <li>Otherwise every passenger pays their tier price. ADULT falls back to the package base price,
+ *       CHILD to ADULT and INFANT to CHILD.</li>
+ *   <li>Per-person add-ons are charged per passenger, others once.</li>
+ * </ul>
+ */
+public final class PriceList {
+
+    /**
+     * Package cost in sen for a passenger mix.
+     */
+    @FunctionalInterface
+    interface PackageRate {
+        long cents(int adults, int children, int infants);
+    }
+
+    record AddOnRate(long cents, boolean perPerson) {
+
+        long cents(int passengers) {
+            return perPerson ? cents * passengers : cents;
+        }
+    }
+
+    // Stands in for packages with no price so every package ID is present in the map
+    static final PackageRate UNPRICED = (adults, children, infants) -> {
+        throw new IllegalStateException("Package has no price");
+    };
+
+    private final Map<Long, PackageRate> packageRates;
+    private final Map<Long, AddOnRate> addOnRates;
+
+    private PriceList(Map<Long, PackageRate> packageRates, Map<Long, AddOnRate> addOnRates) {
+        this.packageRates = Map.copyOf(packageRates);
+        this.addOnRates = Map.copyOf(addOnRates);
+    }
+
+    public static PriceList compile(List<Package> packages, List<AddOn> addOns) {
+        Map<Long, PackageRate> packageRates = new HashMap<>();
+        for (Package packageDetails : packages) {
+            packageRates.put(packageDetails.getId(), compile(packageDetails));
+        }
+        Map<Long, AddOnRate> addOnRates = new HashMap<>();
+        for (AddOn addOn : addOns) {
+            addOnRates.put(addOn.getId(), new AddOnRate(toCents(addOn.getPrice()), Boolean.TRUE.equals(addOn.getPerPerson())));
+        }
+        return new PriceList(packageRates, addOnRates);
+    }
+
+    private static PackageRate compile(Package packageDetails) {
+        BigDecimal fixed = null;
+        BigDecimal adult = null;
+        BigDecimal child = null;
+        BigDecimal infant = null;
+        for (PriceTier tier : packageDetails.getPriceTiers()) {
+            if (tier.getType() == null || tier.getPrice() == null) {
+                continue;
+            }
+            switch (tier.getType().toUpperCase(Locale.ROOT)) {
+                case "FIXED" -> fixed = fixed != null ? fixed : tier.getPrice();
+                case "ADULT" -> adult = adult != null ? adult : tier.getPrice();
+                case "CHILD" -> child = child != null ? child : tier.getPrice();
+                case "INFANT" -> infant = infant != null ? infant : tier.getPrice();
+                default -> {
+                    // Unknown tier types are ignored
+                }
+            }
+        }
+
+        if (fixed != null) {
+            long fixedCents = toCents(fixed);
+            return (adults, children, infants) -> fixedCents;
+        }
+        if (adult == null) {
+            adult = packageDetails.getBasePrice();
+        }
+        if (adult == null) {
+            return UNPRICED;
+        }
+        long adultCents = toCents(adult);
+        long childCents = child != null ? toCents(child) : adultCents;
+        long infantCents = infant != null ? toCents(infant) : childCents;
+        return (adults, children, infants) -> adults * adultCents + children * childCents + infants * infantCents;
+    }
+
+    PackageRate packageRate(Long packageId) {
+        return packageRates.get(packageId);
+    }
+
+    AddOnRate addOnRate(Long addOnId) {
+        return addOnRates.get(addOnId);
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
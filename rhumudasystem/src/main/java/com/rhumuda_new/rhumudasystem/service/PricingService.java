@@ -0,0 +1,102 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.entity.AddOn;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.exception.PriceUnavailableException;
+import com.rhumuda_new.rhumudasystem.exception.UnresolvedReferenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Computes booking totals from the compiled {@link PriceList}. Quotes are served from the catalog
+ * cache and do not touch the database once the price list is loaded.
+ */
+@Service
+public class PricingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingService.class);
+
+    @Autowired
+    private CatalogService catalogService;
+
+    public record Quote(Long packageId, int passengers, BigDecimal packageTotal, BigDecimal addOnsTotal, BigDecimal total) {
+    }
+
+    /**
+     * Quotes a package for {@code passengers} adults plus add-ons.
+     *
+     * @throws UnresolvedReferenceException if the package or any add-on does not exist
+     * @throws PriceUnavailableException if the package has no price
+     */
+    public Quote quote(Long packageId, int passengers, Collection<Long> addOnIds) {
+        return quote(packageId, passengers, 0, 0, addOnIds);
+    }
+
+    /**
+     * Quotes a package for a mix of adults, children and infants plus add-ons.
+     *
+     * @throws UnresolvedReferenceException if the package or any add-on does not exist
+     * @throws PriceUnavailableException if the package has no price
+     */
+    public Quote quote(Long packageId, int adults, int children, int infants, Collection<Long> addOnIds) {
+        if (adults < 0 || children < 0 || infants < 0) {
+            throw new IllegalArgumentException("Passenger counts cannot be negative");
+        }
+        PriceList priceList = catalogService.getPriceList(packageId, addOnIds);
+        int passengers = adults + children + infants;
+
+        List<String> errors = new ArrayList<>();
+        PriceList.PackageRate packageRate = priceList.packageRate(packageId);
+        if (packageRate == null) {
+            errors.add("Package not found: " + packageId);
+        }
+        long addOnsCents = 0;
+        // A booking keeps its add-ons as a set, so a repeated ID is charged once here too
+        for (Long addOnId : new LinkedHashSet<>(addOnIds)) {
+            PriceList.AddOnRate addOnRate = priceList.addOnRate(addOnId);
+            if (addOnRate == null) {
+                errors.add("AddOn not found: " + addOnId);
+            } else {
+                addOnsCents += addOnRate.cents(passengers);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new UnresolvedReferenceException(errors);
+        }
+        if (packageRate == PriceList.UNPRICED) {
+            throw new PriceUnavailableException(packageId);
+        }
+
+        long packageCents = packageRate.cents(adults, children, infants);
+        return new Quote(packageId, passengers,
+                PriceList.fromCents(packageCents),
+                PriceList.fromCents(addOnsCents),
+                PriceList.fromCents(packageCents + addOnsCents));
+    }
+
+    /**
+     * Quotes a booking's package, passengers and add-ons, or returns null if the package has no price.
+     */
+    public BigDecimal quoteBooking(Booking booking) {
+        List<Long> addOnIds = new ArrayList<>();
+        if (booking.getAddOns() != null) {
+            for (AddOn addOn : booking.getAddOns()) {
+                addOnIds.add(addOn.getId());
+            }
+        }
+        try {
+            return quote(booking.getPackageDetails().getId(), booking.getPassengers(), addOnIds).total();
+        } catch (PriceUnavailableException e) {
+            logger.warn("Booking {} saved without a quoted total: {}", booking.getBookingId(), e.getMessage());
+            return null;
+        }
+    }
+}
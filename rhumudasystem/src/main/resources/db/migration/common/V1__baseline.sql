@@ -0,0 +1,138 @@
+-- Schema as ddl-auto=update created it before the migrations existed, constraint names included.
+-- Databases created that way are baselined at this version instead of running it; everything
+-- added since then is in the later versions, so they pick it up like a new database does.
+
+create table add_ons (
+    is_active bit not null,
+    per_person bit not null,
+    price decimal(38,2) not null,
+    id bigint not null auto_increment,
+    description varchar(255),
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table booking_addons (
+    addon_id bigint not null,
+    booking_id bigint not null,
+    primary key (addon_id, booking_id)
+) engine=InnoDB;
+
+create table bookings (
+    alternative_date1 date,
+    alternative_date2 date,
+    booking_date date not null,
+    passengers integer not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    jetty_point_id bigint not null,
+    package_id bigint not null,
+    updated_at datetime(6) not null,
+    address_line1 varchar(255) not null,
+    address_line2 varchar(255),
+    booking_id varchar(255) not null,
+    city varchar(255) not null,
+    country varchar(255) not null,
+    email varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    phone_number varchar(255) not null,
+    postal_code varchar(255) not null,
+    special_remarks varchar(255),
+    status enum ('CANCELLED','COMPLETE','INCOMPLETE','PENDING') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table included_services (
+    id bigint not null auto_increment,
+    package_id bigint not null,
+    description varchar(255),
+    service_name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table jetty_points (
+    is_active bit not null,
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table package_categories (
+    id bigint not null auto_increment,
+    description varchar(255),
+    icon_url varchar(255),
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table packages (
+    base_price decimal(38,2),
+    distance_max_km integer,
+    distance_min_km integer,
+    duration integer,
+    duration_minutes integer,
+    is_active bit,
+    is_private bit,
+    max_capacity integer,
+    category_id bigint,
+    id bigint not null auto_increment,
+    description TEXT,
+    fishing_type varchar(255),
+    image_url varchar(255),
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table price_tiers (
+    price decimal(38,2) not null,
+    id bigint not null auto_increment,
+    package_id bigint not null,
+    label varchar(255),
+    tier_type varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table test_entity (
+    id bigint not null auto_increment,
+    name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+alter table bookings
+   add constraint UKe0p6k9xpku6j2m89duwxuqw11 unique (booking_id);
+
+alter table booking_addons
+   add constraint FKs58wjqh3amljo0602lyy0ebpa
+   foreign key (addon_id)
+   references add_ons (id);
+
+alter table booking_addons
+   add constraint FKfjho8dbfkbf78loy64kx3hgsn
+   foreign key (booking_id)
+   references bookings (id);
+
+alter table bookings
+   add constraint FKjr2v9s1euxtbsu4ops7uioeat
+   foreign key (jetty_point_id)
+   references jetty_points (id);
+
+alter table bookings
+   add constraint FKpsi0jsj8kjkqse44mspx80bk3
+   foreign key (package_id)
+   references packages (id);
+
+alter table included_services
+   add constraint FKa6ie9yokv2ssnln6u100j7mi6
+   foreign key (package_id)
+   references packages (id);
+
+alter table packages
+   add constraint FK2s95b2oov54ktu70qswfqf6cg
+   foreign key (category_id)
+   references package_categories (id);
+
+alter table price_tiers
+   add constraint FKan8vh9prypsooksf9lyld7lp0
+   foreign key (package_id)
+   references packages (id);
@@ -0,0 +1,13 @@
+-- Transactional outbox for booking emails (EmailOutboxMessage)
+create table email_outbox (
+    attempts integer not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    next_attempt_at datetime(6) not null,
+    sent_at datetime(6),
+    last_error varchar(1000),
+    booking_id varchar(255) not null,
+    status enum ('FAILED','PENDING','SENT') not null,
+    type enum ('ADMIN_NOTIFICATION','CUSTOMER_CONFIRMATION') not null,
+    primary key (id)
+) engine=InnoDB;
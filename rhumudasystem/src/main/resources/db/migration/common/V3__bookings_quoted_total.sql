@@ -0,0 +1,3 @@
+-- Server-side price stored with the booking; null for bookings made before pricing existed
+alter table bookings
+   add column quoted_total decimal(10,2);
@@ -0,0 +1,18 @@
+-- Admin search: every filter leads with its equality column and ends on the (booking_date, id) sort key
+create index idx_bookings_date
+   on bookings (booking_date, id);
+
+create index idx_bookings_status_date
+   on bookings (status, booking_date, id);
+
+create index idx_bookings_jetty_date
+   on bookings (jetty_point_id, booking_date, id);
+
+create index idx_bookings_package_jetty_date
+   on bookings (package_id, jetty_point_id, booking_date, id);
+
+create index idx_bookings_email
+   on bookings (email);
+
+create index idx_bookings_phone
+   on bookings (phone_number);
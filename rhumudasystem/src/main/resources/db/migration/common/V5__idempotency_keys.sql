@@ -0,0 +1,11 @@
+-- Stored responses for Idempotency-Key requests (DatabaseIdempotencyStore)
+create table idempotency_keys (
+    response_status integer,
+    expires_at datetime(6) not null,
+    idempotency_key varchar(191) not null,
+    response_body TEXT,
+    primary key (idempotency_key)
+) engine=InnoDB;
+
+create index idx_idempotency_keys_expires_at
+   on idempotency_keys (expires_at);
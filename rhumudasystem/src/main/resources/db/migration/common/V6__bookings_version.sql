@@ -0,0 +1,3 @@
+-- Optimistic lock version; existing bookings start at 0
+alter table bookings
+   add column version bigint not null default 0;
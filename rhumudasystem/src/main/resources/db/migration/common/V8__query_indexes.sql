@@ -0,0 +1,27 @@
+-- Indexes for the repository queries that run on every booking read, seat-ledger load and
+-- outbox poll. QueryPlanTest checks that each of them is used. The catalog tables (packages,
+-- add_ons, jetty_points) hold a few dozen rows and stay on their primary and foreign keys.
+
+-- Seat ledger load (sumSeatsByDate): covers the filter, the grouping and the sum, so the
+-- table rows are never read. Status and passengers sit ahead of the id, so the package + jetty
+-- admin search, which seeks on (booking_date, id), keeps idx_bookings_package_jetty_date from V4
+create index idx_bookings_seats
+   on bookings (package_id, jetty_point_id, booking_date, status, passengers);
+
+-- Add-on rows are always looked up by booking (view, export, collection loads), so lead the
+-- primary key with booking_id; addon_id keeps its own index for the foreign key
+create index idx_booking_addons_addon
+   on booking_addons (addon_id);
+
+alter table booking_addons
+   drop primary key;
+
+alter table booking_addons
+   add primary key (booking_id, addon_id);
+
+-- Outbox polling (status = PENDING and due, oldest first) and lookups by booking
+create index idx_email_outbox_due
+   on email_outbox (status, next_attempt_at, id);
+
+create index idx_email_outbox_booking
+   on email_outbox (booking_id);
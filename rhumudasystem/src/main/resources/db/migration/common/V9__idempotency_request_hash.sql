@@ -0,0 +1,3 @@
+-- Hash of the request each idempotency key was first used with, so a reused key can be refused
+alter table idempotency_keys
+   add column request_hash varchar(64);
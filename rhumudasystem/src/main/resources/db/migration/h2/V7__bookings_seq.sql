@@ -0,0 +1,2 @@
+-- Pooled id allocation for bookings; Hibernate hands out 50 ids per increment
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
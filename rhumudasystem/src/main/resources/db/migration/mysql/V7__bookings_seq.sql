@@ -0,0 +1,10 @@
+-- Pooled id allocation for bookings (MySQL has no sequences, so Hibernate uses a one-row table).
+-- Start above every existing id; Hibernate hands out 50 ids per increment.
+CREATE TABLE IF NOT EXISTS bookings_seq (
+    next_val bigint
+) engine=InnoDB;
+
+SET @next_val = (SELECT COALESCE(MAX(id), 0) + 51 FROM bookings);
+SET @next_val = GREATEST(@next_val, COALESCE((SELECT MAX(next_val) FROM bookings_seq), 1));
+DELETE FROM bookings_seq;
+INSERT INTO bookings_seq VALUES (@next_val);
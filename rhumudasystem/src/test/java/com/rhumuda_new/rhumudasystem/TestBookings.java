@@ -0,0 +1,57 @@
+package com.rhumuda_new.rhumudasystem;
+
+import com.rhumuda_new.rhumudasystem.dto.BookingDTO;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Bookings for tests, filled in with the same guest and address so a test only spells out the fields
+ * it is about. Anything else (status, add-ons, a guest to search for) is set on the result.
+ */
+public final class TestBookings {
+
+    private TestBookings() {
+    }
+
+    public static Booking booking(String bookingId, JettyPoint jettyPoint, Package packageDetails,
+                                  LocalDate bookingDate, int passengers) {
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId);
+        booking.setFirstName("Aisyah");
+        booking.setLastName("Rahman");
+        booking.setPhoneNumber("0123456789");
+        booking.setEmail("aisyah@example.com");
+        booking.setAddressLine1("1 Jalan Pantai");
+        booking.setPostalCode("22200");
+        booking.setCity("Besut");
+        booking.setCountry("Malaysia");
+        booking.setJettyPoint(jettyPoint);
+        booking.setPackageDetails(packageDetails);
+        booking.setBookingDate(bookingDate);
+        booking.setPassengers(passengers);
+        booking.setCreatedAt(LocalDateTime.now());
+        booking.setUpdatedAt(LocalDateTime.now());
+        return booking;
+    }
+
+    public static BookingDTO bookingDto(String bookingId, String jettyPointId, LocalDate bookingDate, int passengers) {
+        BookingDTO booking = new BookingDTO();
+        booking.setBookingId(bookingId);
+        booking.setFirstName("Aisyah");
+        booking.setLastName("Rahman");
+        booking.setPhoneNumber("0123456789");
+        booking.setEmail("aisyah@example.com");
+        booking.setAddressLine1("1 Jalan Pantai");
+        booking.setPostalCode("22200");
+        booking.setCity("Besut");
+        booking.setCountry("Malaysia");
+        booking.setJettyPoint(jettyPointId);
+        booking.setBookingDate(bookingDate);
+        booking.setPassengers(passengers);
+        return booking;
+    }
+}
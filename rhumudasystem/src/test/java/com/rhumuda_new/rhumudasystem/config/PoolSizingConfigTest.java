@@ -0,0 +1,30 @@
+package com.rhumuda_new.rhumudasystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PoolSizingConfigTest {
+
+    @Test
+    void poolIsSizedFromTheCoreCountUnlessConfigured() {
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        assertThat(sizedPool(new MockEnvironment())).isEqualTo(cores * 2 + 1);
+        assertThat(sizedPool(new MockEnvironment().withProperty("app.datasource.pool-size", "0"))).isEqualTo(cores * 2 + 1);
+        assertThat(sizedPool(new MockEnvironment().withProperty("app.datasource.pool-size", "12"))).isEqualTo(12);
+        // An explicit Hikari setting, as in the virtual profile, is bound by Spring Boot and left alone
+        assertThat(sizedPool(new MockEnvironment().withProperty("spring.datasource.hikari.maximum-pool-size", "20")))
+            .isEqualTo(new HikariDataSource().getMaximumPoolSize());
+    }
+
+    private static int sizedPool(MockEnvironment environment) {
+        BeanPostProcessor sizer = PoolSizingConfig.hikariPoolSizer(environment);
+        HikariDataSource dataSource = new HikariDataSource();
+        sizer.postProcessBeforeInitialization(dataSource, "dataSource");
+        return dataSource.getMaximumPoolSize();
+    }
+}
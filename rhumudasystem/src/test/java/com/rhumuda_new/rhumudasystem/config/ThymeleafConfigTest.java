@@ -0,0 +1,56 @@
+package com.rhumuda_new.rhumudasystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.support.GenericApplicationContext;
+import org.thymeleaf.cache.StandardCacheManager;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.spring6.templateresolver.SpringResourceTemplateResolver;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThymeleafConfigTest {
+
+    @Test
+    void cachedTemplatesAreParsedOnce() {
+        SpringTemplateEngine engine = engine(true);
+
+        String first = engine.process("email/booking-confirmation", new Context());
+        String second = engine.process("email/booking-confirmation", new Context());
+
+        assertThat(first).contains("Booking Confirmation").isEqualTo(second);
+        assertThat(engine.getCacheManager().getTemplateCache().keySet()).hasSize(1);
+    }
+
+    @Test
+    void uncachedTemplatesAreReadOnEveryRender() {
+        SpringTemplateEngine engine = engine(false);
+
+        engine.process("email/booking-confirmation", new Context());
+
+        assertThat(engine.getCacheManager().getTemplateCache().keySet()).isEmpty();
+    }
+
+    @Test
+    void cacheIsBoundedByTtlAndSize() {
+        ThymeleafConfig config = new ThymeleafConfig(new ThymeleafProperties(), Duration.ofMinutes(5), 20);
+        SpringResourceTemplateResolver resolver = (SpringResourceTemplateResolver) config.templateResolver();
+        SpringTemplateEngine engine = config.springTemplateEngine(resolver);
+
+        assertThat(resolver.getPrefix()).isEqualTo("classpath:/templates/");
+        assertThat(resolver.getCacheTTLMs()).isEqualTo(Duration.ofMinutes(5).toMillis());
+        assertThat(((StandardCacheManager) engine.getCacheManager()).getTemplateCacheMaxSize()).isEqualTo(20);
+    }
+
+    private static SpringTemplateEngine engine(boolean cache) {
+        ThymeleafProperties properties = new ThymeleafProperties();
+        properties.setCache(cache);
+        ThymeleafConfig config = new ThymeleafConfig(properties, Duration.ofHours(1), 100);
+        SpringResourceTemplateResolver resolver = (SpringResourceTemplateResolver) config.templateResolver();
+        resolver.setApplicationContext(new GenericApplicationContext());
+        return config.springTemplateEngine(resolver);
+    }
+}
@@ -0,0 +1,233 @@
+package com.rhumuda_new.rhumudasystem.controller;
+
+import com.rhumuda_new.rhumudasystem.TestBookings;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.repository.BookingRepository;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import com.rhumuda_new.rhumudasystem.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingConcurrencyTest {
+
+    private static final String BOOKING_ID = "RHM-LOCK-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PackageCategoryRepository packageCategoryRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private JettyPointRepository jettyPointRepository;
+
+    private Package packageDetails;
+    private JettyPoint jettyPoint;
+
+    @BeforeEach
+    void setUp() {
+        PackageCategory category = new PackageCategory();
+        category.setName("Boat Charter");
+        packageCategoryRepository.save(category);
+
+        packageDetails = new Package();
+        packageDetails.setName("Private Boat");
+        packageDetails.setCategoryId(category.getId());
+        packageRepository.save(packageDetails);
+
+        jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Rhumuda");
+        jettyPointRepository.save(jettyPoint);
+
+        Booking booking = TestBookings.booking(BOOKING_ID, jettyPoint, packageDetails, LocalDate.now().plusDays(14), 2);
+        bookingService.createBooking(booking);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        packageRepository.deleteAll();
+        packageCategoryRepository.deleteAll();
+        jettyPointRepository.deleteAll();
+    }
+
+    @Test
+    void staleUpdateIsAConflictCarryingTheCurrentBooking() throws Exception {
+        mockMvc.perform(put("/api/bookings/{id}", BOOKING_ID).contentType(MediaType.APPLICATION_JSON).content(updateJson("Siti", 0L)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(1));
+
+        // Another admin still editing version 0
+        mockMvc.perform(put("/api/bookings/{id}", BOOKING_ID).contentType(MediaType.APPLICATION_JSON).content(updateJson("Nurul", 0L)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.current.firstName").value("Siti"))
+            .andExpect(jsonPath("$.current.version").value(1));
+
+        assertThat(bookingRepository.findByBookingId(BOOKING_ID).orElseThrow().getFirstName()).isEqualTo("Siti");
+    }
+
+    @Test
+    void interleavedUpdatesDoNotOverwriteEachOther() throws Exception {
+        CountDownLatch firstLoaded = new CountDownLatch(1);
+        CountDownLatch secondCommitted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                Booking booking = bookingRepository.findByBookingId(BOOKING_ID).orElseThrow();
+                firstLoaded.countDown();
+                await(secondCommitted);
+                booking.setFirstName("Siti");
+            }));
+            Future<?> second = executor.submit(() -> {
+                await(firstLoaded);
+                transactionTemplate.executeWithoutResult(status ->
+                    bookingRepository.findByBookingId(BOOKING_ID).orElseThrow().setLastName("Hassan"));
+                secondCommitted.countDown();
+            });
+
+            second.get(30, TimeUnit.SECONDS);
+            assertThatThrownBy(() -> first.get(30, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(OptimisticLockingFailureException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Booking booking = bookingRepository.findByBookingId(BOOKING_ID).orElseThrow();
+        assertThat(booking.getFirstName()).isEqualTo("Aisyah");
+        assertThat(booking.getLastName()).isEqualTo("Hassan");
+    }
+
+    @Test
+    void concurrentPatchesToDifferentFieldsAllApply() throws Exception {
+        int rounds = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (String field : List.of("city", "specialRemarks")) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < rounds; i++) {
+                        bookingService.patchBooking(BOOKING_ID, Map.of(field, field + " " + i));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Booking booking = bookingRepository.findByBookingId(BOOKING_ID).orElseThrow();
+        assertThat(booking.getCity()).isEqualTo("city " + (rounds - 1));
+        assertThat(booking.getSpecialRemarks()).isEqualTo("specialRemarks " + (rounds - 1));
+        assertThat(booking.getFirstName()).isEqualTo("Aisyah");
+        assertThat(booking.getVersion()).isEqualTo(2L * rounds);
+    }
+
+    @Test
+    void patchChecksFieldsValuesAndVersion() throws Exception {
+        mockMvc.perform(patch("/api/bookings/{id}", BOOKING_ID).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"siti@example.com\", \"alternativeDate1\": \"2030-01-02\", \"version\": 0}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email").value("siti@example.com"))
+            .andExpect(jsonPath("$.alternativeDate1").value("2030-01-02"))
+            .andExpect(jsonPath("$.firstName").value("Aisyah"))
+            .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(patch("/api/bookings/{id}", BOOKING_ID).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"city\": \"Kuala Besut\", \"version\": 0}"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.current.email").value("siti@example.com"));
+
+        mockMvc.perform(patch("/api/bookings/{id}", BOOKING_ID).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"passengers\": 5, \"email\": \"not-an-email\", \"firstName\": \" \"}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errors.length()").value(3));
+
+        mockMvc.perform(patch("/api/bookings/{id}", "RHM-MISSING").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"city\": \"Besut\"}"))
+            .andExpect(status().isNotFound());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String updateJson(String firstName, Long version) {
+        return """
+            {
+              "status": "INCOMPLETE",
+              "firstName": "%s",
+              "lastName": "Rahman",
+              "phoneNumber": "0123456789",
+              "email": "aisyah@example.com",
+              "addressLine1": "1 Jalan Pantai",
+              "postalCode": "22200",
+              "city": "Besut",
+              "country": "Malaysia",
+              "jettyPoint": "%d",
+              "packageId": "%d",
+              "bookingDate": "%s",
+              "passengers": 2,
+              "version": %d
+            }
+            """.formatted(firstName, jettyPoint.getId(), packageDetails.getId(), LocalDate.now().plusDays(14), version);
+    }
+}
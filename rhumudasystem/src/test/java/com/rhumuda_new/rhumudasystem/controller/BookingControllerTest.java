@@ -0,0 +1,126 @@
+package com.rhumuda_new.rhumudasystem.controller;
+
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.repository.BookingRepository;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PackageCategoryRepository packageCategoryRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private JettyPointRepository jettyPointRepository;
+
+    private Long packageId;
+    private Long jettyPointId;
+
+    @BeforeEach
+    void setUp() {
+        PackageCategory category = new PackageCategory();
+        category.setName("Boat Charter");
+        packageCategoryRepository.save(category);
+
+        Package packageDetails = new Package();
+        packageDetails.setName("Private Boat");
+        packageDetails.setCategoryId(category.getId());
+        packageDetails.setBasePrice(new BigDecimal("150.00"));
+        packageId = packageRepository.save(packageDetails).getId();
+
+        JettyPoint jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Rhumuda");
+        jettyPointId = jettyPointRepository.save(jettyPoint).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        packageRepository.deleteAll();
+        packageCategoryRepository.deleteAll();
+        jettyPointRepository.deleteAll();
+    }
+
+    @Test
+    void allocatesBookingIds() throws Exception {
+        mockMvc.perform(post("/api/bookings/ids"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.bookingId").value(matchesPattern("RHM[0-9A-Z]{13}")));
+    }
+
+    @Test
+    void createAssignsBookingIdWhenMissing() throws Exception {
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON).content(bookingJson(null)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.bookingId").value(startsWith("RHM")))
+            .andExpect(jsonPath("$.quotedTotal").value(300.0));
+
+        assertThat(bookingRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void duplicateBookingIdIsAConflict() throws Exception {
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON).content(bookingJson("RHM-DUPLICATE")))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON).content(bookingJson("RHM-DUPLICATE")))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("Booking ID already exists"));
+    }
+
+    private String bookingJson(String bookingId) {
+        return """
+            {
+              %s
+              "status": "INCOMPLETE",
+              "firstName": "Aisyah",
+              "lastName": "Rahman",
+              "phoneNumber": "0123456789",
+              "email": "aisyah@example.com",
+              "addressLine1": "1 Jalan Pantai",
+              "postalCode": "22200",
+              "city": "Besut",
+              "country": "Malaysia",
+              "jettyPoint": "%d",
+              "packageId": "%d",
+              "bookingDate": "%s",
+              "passengers": 2
+            }
+            """.formatted(bookingId != null ? "\"bookingId\": \"" + bookingId + "\"," : "",
+                jettyPointId, packageId, LocalDate.now().plusDays(14));
+    }
+}
@@ -0,0 +1,212 @@
+package com.rhumuda_new.rhumudasystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rhumuda_new.rhumudasystem.TestBookings;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.repository.BookingCursor;
+import com.rhumuda_new.rhumudasystem.repository.BookingRepository;
+import com.rhumuda_new.rhumudasystem.repository.BookingSearchFilter;
+import com.rhumuda_new.rhumudasystem.repository.BookingSummary;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingSearchTest {
+
+    private static final int BOOKINGS = 600;
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PackageCategoryRepository packageCategoryRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private JettyPointRepository jettyPointRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Package packageDetails;
+    private JettyPoint north;
+    private JettyPoint south;
+    private final LocalDate firstDate = LocalDate.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        PackageCategory category = new PackageCategory();
+        category.setName("Boat Charter");
+        packageCategoryRepository.save(category);
+
+        packageDetails = new Package();
+        packageDetails.setName("Private Boat");
+        packageDetails.setCategoryId(category.getId());
+        packageRepository.save(packageDetails);
+
+        north = jettyPoint("Jeti Utara");
+        south = jettyPoint("Jeti Selatan");
+
+        // Bookings are saved out of date order so the ID order differs from the search order
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(booking(i));
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        packageRepository.deleteAll();
+        packageCategoryRepository.deleteAll();
+        jettyPointRepository.deleteAll();
+    }
+
+    @Test
+    void pagesWalkEveryMatchOnceInDateOrder() throws Exception {
+        List<String> bookingIds = new ArrayList<>();
+        LocalDate previous = LocalDate.MIN;
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/bookings").param("limit", "50");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+            for (JsonNode item : page.get("items")) {
+                LocalDate date = LocalDate.parse(item.get("bookingDate").asText());
+                assertThat(date).isAfterOrEqualTo(previous);
+                assertThat(item.has("id")).isFalse();
+                previous = date;
+                bookingIds.add(item.get("bookingId").asText());
+            }
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(BOOKINGS / 50);
+        assertThat(bookingIds).hasSize(BOOKINGS).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void filtersCombine() throws Exception {
+        LocalDate day = firstDate.plusDays(3);
+        long expected = bookingRepository.findAll().stream()
+            .filter(b -> b.getStatus() == BookingStatus.PENDING)
+            .filter(b -> b.getJettyPoint().getId().equals(south.getId()))
+            .filter(b -> !b.getBookingDate().isBefore(day) && !b.getBookingDate().isAfter(day.plusDays(4)))
+            .count();
+
+        mockMvc.perform(get("/api/bookings")
+                .param("status", "pending")
+                .param("from", day.toString())
+                .param("to", day.plusDays(4).toString())
+                .param("jettyPointId", south.getId().toString())
+                .param("packageId", packageDetails.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(expected))
+            .andExpect(jsonPath("$.items[0].status").value("PENDING"))
+            .andExpect(jsonPath("$.items[0].jettyPointName").value("Jeti Selatan"))
+            .andExpect(jsonPath("$.items[0].packageName").value("Private Boat"))
+            .andExpect(jsonPath("$.nextCursor").isEmpty());
+
+        mockMvc.perform(get("/api/bookings").param("email", "guest12").param("limit", "200"))
+            .andExpect(status().isOk())
+            // guest12, guest120-129
+            .andExpect(jsonPath("$.items.length()").value(11));
+
+        mockMvc.perform(get("/api/bookings").param("phone", "0130000599"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.items[0].email").value("guest599@example.com"));
+
+        // LIKE wildcards in the prefix are matched literally
+        mockMvc.perform(get("/api/bookings").param("email", "guest_"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    void rejectsBadParameters() throws Exception {
+        mockMvc.perform(get("/api/bookings").param("status", "LOST"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/bookings").param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/bookings").param("limit", "0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deepPagesAreOneProjectionQuery() {
+        BookingSearchFilter noFilter = new BookingSearchFilter(null, null, null, null, null, null, null);
+        List<BookingSummary> all = bookingRepository.search(noFilter, null, BOOKINGS);
+        BookingCursor deep = BookingCursor.after(all.get(BOOKINGS - 51));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<BookingSummary> lastPage = bookingRepository.search(noFilter, deep, 50);
+
+        assertThat(lastPage).containsExactlyElementsOf(all.subList(BOOKINGS - 50, BOOKINGS));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private JettyPoint jettyPoint(String name) {
+        JettyPoint jettyPoint = new JettyPoint();
+        jettyPoint.setName(name);
+        return jettyPointRepository.save(jettyPoint);
+    }
+
+    private Booking booking(int i) {
+        Booking booking = TestBookings.booking("RHM-SEARCH-" + i, i % 2 == 0 ? north : south, packageDetails,
+            firstDate.plusDays((i * 7L) % 30), 2);
+        booking.setStatus(STATUSES[i % STATUSES.length]);
+        booking.setFirstName("Guest");
+        booking.setLastName("No. " + i);
+        booking.setPhoneNumber(String.format("013%07d", i));
+        booking.setEmail("guest" + i + "@example.com");
+        return booking;
+    }
+}
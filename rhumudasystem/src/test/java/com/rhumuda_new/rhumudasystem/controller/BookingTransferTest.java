@@ -0,0 +1,257 @@
+package com.rhumuda_new.rhumudasystem.controller;
+
+import com.rhumuda_new.rhumudasystem.TestBookings;
+import com.rhumuda_new.rhumudasystem.entity.AddOn;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.repository.AddOnRepository;
+import com.rhumuda_new.rhumudasystem.repository.BookingRepository;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import com.rhumuda_new.rhumudasystem.service.AvailabilityService;
+import com.rhumuda_new.rhumudasystem.service.BookingService;
+import com.rhumuda_new.rhumudasystem.service.BookingTransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingTransferTest {
+
+    private static final LocalDate BASE_DATE = LocalDate.now().plusDays(30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingTransferService bookingTransferService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PackageCategoryRepository packageCategoryRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private JettyPointRepository jettyPointRepository;
+
+    @Autowired
+    private AddOnRepository addOnRepository;
+
+    private Package packageDetails;
+    private JettyPoint jettyPoint;
+    private AddOn snorkel;
+    private AddOn lunch;
+
+    @BeforeEach
+    void setUp() {
+        PackageCategory category = new PackageCategory();
+        category.setName("Boat Charter");
+        packageCategoryRepository.save(category);
+
+        packageDetails = new Package();
+        packageDetails.setName("Private Boat");
+        packageDetails.setCategoryId(category.getId());
+        packageRepository.save(packageDetails);
+
+        jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Rhumuda");
+        jettyPointRepository.save(jettyPoint);
+
+        snorkel = addOn("Snorkel set");
+        lunch = addOn("Lunch");
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        addOnRepository.deleteAll();
+        packageRepository.deleteAll();
+        packageCategoryRepository.deleteAll();
+        jettyPointRepository.deleteAll();
+    }
+
+    @Test
+    void csvExportStreamsTheDateRangeInDateOrder() throws Exception {
+        createBooking("RHM-T-3", BASE_DATE.plusDays(20), "Late", Set.of());
+        createBooking("RHM-T-1", BASE_DATE, "Said \"hi\", then left", Set.of(snorkel, lunch));
+        createBooking("RHM-T-2", BASE_DATE.plusDays(10), null, Set.of());
+
+        String csv = export("csv", BASE_DATE, BASE_DATE.plusDays(10));
+
+        List<String> lines = csv.lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("bookingId,status,firstName");
+        assertThat(lines.get(1))
+            .startsWith("RHM-T-1,INCOMPLETE,Aisyah,")
+            .contains("," + snorkel.getId() + ";" + lunch.getId() + ",")
+            .contains(",\"Said \"\"hi\"\", then left\",");
+        assertThat(lines.get(2)).startsWith("RHM-T-2,");
+    }
+
+    @Test
+    void ndjsonExportImportsBackWithItsSeats() throws Exception {
+        createBooking("RHM-T-1", BASE_DATE, "Window seat", Set.of(snorkel, lunch));
+        createBooking("RHM-T-2", BASE_DATE.plusDays(1), null, Set.of());
+        String exported = export("ndjson", null, null);
+        assertThat(exported.lines()).hasSize(2);
+
+        mockMvc.perform(post("/api/bookings/import").contentType(MediaType.APPLICATION_NDJSON)
+                .content(exported.replace("RHM-T-", "RHM-C-")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2));
+
+        List<String> copies = export("ndjson", null, null).lines().filter(line -> line.contains("RHM-C-")).toList();
+        assertThat(copies).containsExactlyElementsOf(exported.replace("RHM-T-", "RHM-C-").lines().toList());
+        assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), BASE_DATE)).isEqualTo(4);
+    }
+
+    @Test
+    void importIntoARouteNotYetLoadedCountsItsSeatsOnce() throws Exception {
+        mockMvc.perform(post("/api/bookings/import").content(line("RHM-F-1", BASE_DATE)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1));
+
+        assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), BASE_DATE)).isEqualTo(2);
+    }
+
+    @Test
+    void importIsRejectedWholeWhenAnyLineIsBad() throws Exception {
+        String good = line("RHM-I-1", BASE_DATE);
+        String invalid = line("RHM-I-2", BASE_DATE).replace("aisyah@example.com", "not-an-email");
+
+        mockMvc.perform(post("/api/bookings/import").content(good + "\n\n" + invalid + "\n{oops\n"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errors[0]").value("Line 3: Invalid email format"))
+            .andExpect(jsonPath("$.errors[1]").value(org.hamcrest.Matchers.startsWith("Line 4: ")));
+
+        mockMvc.perform(post("/api/bookings/import").content(good + "\n" + good))
+            .andExpect(status().isConflict());
+
+        assertThat(bookingRepository.count()).isZero();
+        assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), BASE_DATE)).isZero();
+    }
+
+    @Test
+    void importIsRolledBackWhenTheStreamFailsAfterABatch() {
+        // More lines than one batch, so some rows are already inserted when the read fails
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            body.append(line(null, BASE_DATE)).append('\n');
+        }
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+        InputStream in = new SequenceInputStream(
+            new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), broken);
+
+        assertThatThrownBy(() -> bookingTransferService.importNdjson(in)).isInstanceOf(IOException.class);
+
+        assertThat(bookingRepository.count()).isZero();
+        assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), BASE_DATE)).isZero();
+    }
+
+    @Test
+    void largeImportsAreInsertedInBatches() throws Exception {
+        int bookings = 2_000;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < bookings; i++) {
+            body.append(line(null, BASE_DATE.plusDays(i % 60))).append('\n');
+        }
+
+        mockMvc.perform(post("/api/bookings/import").content(body.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(bookings));
+
+        List<String> exported = export("csv", null, null).lines().skip(1).toList();
+        assertThat(exported).hasSize(bookings);
+        Set<String> bookingIds = new HashSet<>();
+        for (String row : exported) {
+            bookingIds.add(row.substring(0, row.indexOf(',')));
+        }
+        assertThat(bookingIds).hasSize(bookings);
+    }
+
+    private String export(String format, LocalDate from, LocalDate to) throws Exception {
+        var request = get("/api/bookings/export").param("format", format);
+        if (from != null) {
+            request.param("from", from.toString());
+        }
+        if (to != null) {
+            request.param("to", to.toString());
+        }
+        MvcResult started = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(format.equals("csv") ? "text/csv" : "application/x-ndjson"))
+            .andReturn().getResponse().getContentAsString();
+    }
+
+    private String line(String bookingId, LocalDate date) {
+        return """
+            {"bookingId":%s,"status":"PENDING","firstName":"Aisyah","lastName":"Rahman","phoneNumber":"0123456789",\
+            "email":"aisyah@example.com","addressLine1":"1 Jalan Pantai","postalCode":"22200","city":"Besut",\
+            "country":"Malaysia","jettyPointId":%d,"packageId":%d,"bookingDate":"%s","passengers":2,"addOnIds":[%d]}\
+            """.formatted(bookingId != null ? "\"" + bookingId + "\"" : "null",
+                jettyPoint.getId(), packageDetails.getId(), date, snorkel.getId());
+    }
+
+    private AddOn addOn(String name) {
+        AddOn addOn = new AddOn();
+        addOn.setName(name);
+        addOn.setPrice(new BigDecimal("20.00"));
+        return addOnRepository.save(addOn);
+    }
+
+    private void createBooking(String bookingId, LocalDate date, String remarks, Set<AddOn> addOns) {
+        Booking booking = TestBookings.booking(bookingId, jettyPoint, packageDetails, date, 2);
+        booking.setAddOns(addOns);
+        booking.setSpecialRemarks(remarks);
+        bookingService.createBooking(booking);
+    }
+}
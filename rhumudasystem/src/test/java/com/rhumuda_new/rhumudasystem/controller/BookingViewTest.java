@@ -0,0 +1,186 @@
+package com.rhumuda_new.rhumudasystem.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rhumuda_new.rhumudasystem.TestBookings;
+import com.rhumuda_new.rhumudasystem.entity.AddOn;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.IncludedService;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.entity.PriceTier;
+import com.rhumuda_new.rhumudasystem.repository.AddOnRepository;
+import com.rhumuda_new.rhumudasystem.repository.BookingRepository;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingViewTest {
+
+    private static final String BOOKING_ID = "RHM-VIEW-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PackageCategoryRepository packageCategoryRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private JettyPointRepository jettyPointRepository;
+
+    @Autowired
+    private AddOnRepository addOnRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Package packageDetails;
+    private JettyPoint jettyPoint;
+
+    @BeforeEach
+    void setUp() {
+        PackageCategory category = new PackageCategory();
+        category.setName("Island Hopping");
+        packageCategoryRepository.save(category);
+
+        packageDetails = new Package();
+        packageDetails.setName("Three Islands");
+        packageDetails.setCategoryId(category.getId());
+        packageDetails.setDescription("Snorkelling at three islands off Besut. ".repeat(20));
+        packageDetails.setBasePrice(new BigDecimal("120.00"));
+        packageDetails.setMaxCapacity(12);
+        packageDetails.setDurationMinutes(240);
+        packageDetails.setImageUrl("/images/three-islands.jpg");
+        for (String type : List.of("ADULT", "CHILD", "INFANT")) {
+            PriceTier tier = new PriceTier();
+            tier.setType(type);
+            tier.setPrice(new BigDecimal("60.00"));
+            tier.setPackageEntity(packageDetails);
+            packageDetails.getPriceTiers().add(tier);
+        }
+        for (String name : List.of("Life jackets", "Snorkel set", "Mineral water")) {
+            IncludedService service = new IncludedService();
+            service.setName(name);
+            service.setPackageEntity(packageDetails);
+            packageDetails.getServices().add(service);
+        }
+        packageRepository.save(packageDetails);
+
+        jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Rhumuda");
+        jettyPointRepository.save(jettyPoint);
+
+        AddOn lunch = addOn("Packed Lunch", "15.00", true);
+        AddOn photographer = addOn("Photographer", "200.00", false);
+
+        Booking booking = TestBookings.booking(BOOKING_ID, jettyPoint, packageDetails, LocalDate.now().plusDays(14), 4);
+        booking.setAddOns(Set.of(lunch, photographer));
+        booking.setQuotedTotal(new BigDecimal("740.00"));
+        bookingRepository.save(booking);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        addOnRepository.deleteAll();
+        packageRepository.deleteAll();
+        packageCategoryRepository.deleteAll();
+        jettyPointRepository.deleteAll();
+    }
+
+    @Test
+    void keepsTheFieldsThePagesRead() throws Exception {
+        mockMvc.perform(get("/api/bookings/{bookingId}", BOOKING_ID))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.bookingId").value(BOOKING_ID))
+            .andExpect(jsonPath("$.status").value("INCOMPLETE"))
+            .andExpect(jsonPath("$.jettyPoint.id").value(jettyPoint.getId()))
+            .andExpect(jsonPath("$.jettyPoint.name").value("Jeti Rhumuda"))
+            .andExpect(jsonPath("$.packageDetails.id").value(packageDetails.getId()))
+            .andExpect(jsonPath("$.packageDetails.name").value("Three Islands"))
+            .andExpect(jsonPath("$.packageDetails.maxCapacity").value(12))
+            .andExpect(jsonPath("$.packageDetails.durationMinutes").value(240))
+            .andExpect(jsonPath("$.packageDetails.imageUrl").value("/images/three-islands.jpg"))
+            .andExpect(jsonPath("$.packageDetails.services[*].name")
+                .value(containsInAnyOrder("Life jackets", "Snorkel set", "Mineral water")))
+            .andExpect(jsonPath("$.packageDetails.priceTiers").doesNotExist())
+            .andExpect(jsonPath("$.addOns.length()").value(2))
+            .andExpect(jsonPath("$.addOns[?(@.name == 'Packed Lunch')].perPerson").value(true))
+            .andExpect(jsonPath("$.passengers").value(4))
+            .andExpect(jsonPath("$.quotedTotal").value(740.0));
+
+        mockMvc.perform(get("/api/bookings/{bookingId}", "RHM-MISSING"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void viewIsOneQueryAndASmallerPayloadThanTheEntity() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        byte[] entityJson = transactionTemplate.execute(status -> json(bookingRepository.findByBookingId(BOOKING_ID).orElseThrow()));
+        long entityStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        byte[] viewJson = json(bookingRepository.findViewByBookingId(BOOKING_ID).orElseThrow());
+        long viewStatements = statistics.getPrepareStatementCount();
+
+        assertThat(viewStatements).isEqualTo(1);
+        assertThat(entityStatements).isGreaterThan(1);
+        assertThat(viewJson.length).isLessThan(entityJson.length / 2);
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private AddOn addOn(String name, String price, boolean perPerson) {
+        AddOn addOn = new AddOn();
+        addOn.setName(name);
+        addOn.setPrice(new BigDecimal(price));
+        addOn.setPerPerson(perPerson);
+        return addOnRepository.save(addOn);
+    }
+}
@@ -0,0 +1,119 @@
+package com.rhumuda_new.rhumudasystem.controller;
+
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.catalog.cache.ttl=PT1S")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogEndpointsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PackageCategoryRepository packageCategoryRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private JettyPointRepository jettyPointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        PackageCategory category = new PackageCategory();
+        category.setName("Island Trip");
+        categoryId = packageCategoryRepository.save(category).getId();
+
+        Package packageDetails = new Package();
+        packageDetails.setName("Pulau Perhentian");
+        packageDetails.setCategoryId(categoryId);
+        packageRepository.save(packageDetails);
+    }
+
+    @AfterEach
+    void tearDown() {
+        packageRepository.deleteAll();
+        packageCategoryRepository.deleteAll();
+        jettyPointRepository.deleteAll();
+    }
+
+    @Test
+    void packagesAreServedWithStrongEtag() throws Exception {
+        String etag = mockMvc.perform(get("/api/packages/category/{id}", categoryId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").value("Pulau Perhentian"))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(etag).startsWith("\"").doesNotStartWith("W/");
+
+        mockMvc.perform(get("/api/packages/category/{id}", categoryId).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void etagChangesWhenCatalogChanges() throws Exception {
+        String before = mockMvc.perform(get("/api/jettypoints"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        JettyPoint jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Kuala Besut");
+        jettyPointRepository.save(jettyPoint);
+
+        mockMvc.perform(get("/api/jettypoints").header(HttpHeaders.IF_NONE_MATCH, before))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").value("Jeti Kuala Besut"));
+    }
+
+    @Test
+    void catalogEditedInSqlIsServedOnceTheCacheExpires() throws Exception {
+        String before = mockMvc.perform(get("/api/packages/category/{id}", categoryId))
+            .andExpect(jsonPath("$[0].name").value("Pulau Perhentian"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Behind JPA's back, so no listener invalidates the cache
+        jdbcTemplate.update("UPDATE packages SET name = 'Pulau Redang' WHERE category_id = ?", categoryId);
+        Thread.sleep(1_000);
+
+        mockMvc.perform(get("/api/packages/category/{id}", categoryId).header(HttpHeaders.IF_NONE_MATCH, before))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").value("Pulau Redang"));
+    }
+
+    @Test
+    void unknownCategoryReturnsEmptyList() throws Exception {
+        mockMvc.perform(get("/api/packages/category/{id}", 9999))
+            .andExpect(status().isOk())
+            .andExpect(content().json("[]"));
+    }
+}
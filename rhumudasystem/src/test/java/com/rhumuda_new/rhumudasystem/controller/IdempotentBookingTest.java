@@ -0,0 +1,220 @@
+package com.rhumuda_new.rhumudasystem.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.repository.BookingRepository;
+import com.rhumuda_new.rhumudasystem.repository.EmailOutboxRepository;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotentBookingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private PackageCategoryRepository packageCategoryRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private JettyPointRepository jettyPointRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long packageId;
+    private Long jettyPointId;
+
+    @BeforeEach
+    void setUp() {
+        PackageCategory category = new PackageCategory();
+        category.setName("Boat Charter");
+        packageCategoryRepository.save(category);
+
+        Package packageDetails = new Package();
+        packageDetails.setName("Private Boat");
+        packageDetails.setCategoryId(category.getId());
+        packageId = packageRepository.save(packageDetails).getId();
+
+        JettyPoint jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Rhumuda");
+        jettyPointId = jettyPointRepository.save(jettyPoint).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailOutboxRepository.deleteAll();
+        bookingRepository.deleteAll();
+        packageRepository.deleteAll();
+        packageCategoryRepository.deleteAll();
+        jettyPointRepository.deleteAll();
+    }
+
+    @Test
+    void repeatedCreateReturnsTheFirstBooking() throws Exception {
+        String key = "create-" + System.nanoTime();
+        MockHttpServletResponse first = create(key);
+        MockHttpServletResponse repeat = create(key);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(repeat.getStatus()).isEqualTo(200);
+        assertThat(repeat.getHeader("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(repeat.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(bookingRepository.count()).isEqualTo(1);
+
+        // Without a key, or with another one, a new booking is made
+        create(null);
+        create("create-other-" + System.nanoTime());
+        assertThat(bookingRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void repeatedSubmitIsAnsweredWithoutTouchingTheDatabase() throws Exception {
+        String bookingId = objectMapper.readTree(create(null).getContentAsString()).get("bookingId").asText();
+        String key = "submit-" + System.nanoTime();
+
+        mockMvc.perform(put("/api/bookings/{id}/submit", bookingId).header("Idempotency-Key", key))
+            .andExpect(status().isOk());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(put("/api/bookings/{id}/submit", bookingId).header("Idempotency-Key", key))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotent-Replayed", "true"));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(emailOutboxRepository.findByBookingId(bookingId)).hasSize(2);
+
+        // A new key runs the submit again, which the booking's state now refuses
+        mockMvc.perform(put("/api/bookings/{id}/submit", bookingId).header("Idempotency-Key", key + "-again"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("Booking cannot be submitted"));
+    }
+
+    @Test
+    void doubleClickedSubmitQueuesEmailsOnce() throws Exception {
+        String bookingId = objectMapper.readTree(create(null).getContentAsString()).get("bookingId").asText();
+        String key = "double-" + System.nanoTime();
+
+        int clicks = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(clicks);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < clicks; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(put("/api/bookings/{id}/submit", bookingId).header("Idempotency-Key", key))
+                        .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                // Either the replayed 200 or 409 while the first click is still running
+                assertThat(result.get(30, TimeUnit.SECONDS)).isIn(200, 409);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(emailOutboxRepository.findByBookingId(bookingId)).hasSize(2);
+    }
+
+    @Test
+    void overlongKeysAreRejected() throws Exception {
+        mockMvc.perform(post("/api/bookings")
+                .header("Idempotency-Key", "k".repeat(101))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(bookingJson()))
+            .andExpect(status().isBadRequest());
+        assertThat(bookingRepository.count()).isZero();
+    }
+
+    @Test
+    void keyReusedWithADifferentBodyIsRefused() throws Exception {
+        String key = "reused-" + System.nanoTime();
+        create(key);
+
+        mockMvc.perform(post("/api/bookings")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(bookingJson().replace("\"passengers\": 2", "\"passengers\": 3")))
+            .andExpect(status().isUnprocessableEntity())
+            .andExpect(jsonPath("$.message").value("Idempotency key reused"));
+        assertThat(bookingRepository.count()).isEqualTo(1);
+    }
+
+    private MockHttpServletResponse create(String idempotencyKey) throws Exception {
+        var request = post("/api/bookings").contentType(MediaType.APPLICATION_JSON).content(bookingJson());
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private String bookingJson() {
+        return """
+            {
+              "status": "INCOMPLETE",
+              "firstName": "Aisyah",
+              "lastName": "Rahman",
+              "phoneNumber": "0123456789",
+              "email": "aisyah@example.com",
+              "addressLine1": "1 Jalan Pantai",
+              "postalCode": "22200",
+              "city": "Besut",
+              "country": "Malaysia",
+              "jettyPoint": "%d",
+              "packageId": "%d",
+              "bookingDate": "%s",
+              "passengers": 2
+            }
+            """.formatted(jettyPointId, packageId, LocalDate.now().plusDays(14));
+    }
+}
@@ -0,0 +1,164 @@
+package com.rhumuda_new.rhumudasystem.controller;
+
+import com.rhumuda_new.rhumudasystem.TestBookings;
+import com.rhumuda_new.rhumudasystem.dto.BookingDTO;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.repository.BookingRepository;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import com.rhumuda_new.rhumudasystem.service.AvailabilityService;
+import com.rhumuda_new.rhumudasystem.service.BookingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PackageAvailabilityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PackageCategoryRepository packageCategoryRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private JettyPointRepository jettyPointRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Package packageDetails;
+    private JettyPoint jettyPoint;
+    private final LocalDate from = LocalDate.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        PackageCategory category = new PackageCategory();
+        category.setName("Boat Charter");
+        packageCategoryRepository.save(category);
+
+        packageDetails = new Package();
+        packageDetails.setName("Private Boat");
+        packageDetails.setCategoryId(category.getId());
+        packageDetails.setMaxCapacity(6);
+        packageRepository.save(packageDetails);
+
+        jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Rhumuda");
+        jettyPoint.setIsActive(true);
+        jettyPointRepository.save(jettyPoint);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        packageRepository.deleteAll();
+        packageCategoryRepository.deleteAll();
+        jettyPointRepository.deleteAll();
+    }
+
+    @Test
+    void calendarReflectsBookingsAsTheyChange() throws Exception {
+        Booking booking = bookingService.createBooking(booking(from.plusDays(2), 4));
+
+        mockMvc.perform(get("/api/packages/{id}/availability", packageDetails.getId())
+                .param("from", from.toString())
+                .param("to", from.plusDays(6).toString())
+                .param("jettyPointId", jettyPoint.getId().toString())
+                .param("passengers", "3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(7))
+            .andExpect(jsonPath("$[0].remainingSeats").value(6))
+            .andExpect(jsonPath("$[0].available").value(true))
+            .andExpect(jsonPath("$[2].date").value(from.plusDays(2).toString()))
+            .andExpect(jsonPath("$[2].remainingSeats").value(2))
+            .andExpect(jsonPath("$[2].available").value(false));
+
+        BookingDTO cancelled = bookingService.getBookingById(booking.getBookingId());
+        cancelled.setStatus("CANCELLED");
+        bookingService.updateBooking(booking.getBookingId(), cancelled);
+
+        mockMvc.perform(get("/api/packages/{id}/availability", packageDetails.getId())
+                .param("from", from.toString())
+                .param("to", from.plusDays(6).toString())
+                .param("passengers", "3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[2].remainingSeats").value(6))
+            .andExpect(jsonPath("$[2].available").value(true));
+    }
+
+    @Test
+    void threeMonthCalendarIsServedFromTheLedgerAfterTheFirstLoad() throws Exception {
+        bookingService.createBooking(booking(from.plusDays(10), 6));
+        LocalDate to = from.plusMonths(3);
+        availabilityService.getCalendar(packageDetails.getId(), null, from, to, 1);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        for (int i = 0; i < 10; i++) {
+            availabilityService.getCalendar(packageDetails.getId(), null, from, to, 1);
+        }
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        mockMvc.perform(get("/api/packages/{id}/availability", packageDetails.getId()).param("from", from.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[10].available").value(false));
+    }
+
+    @Test
+    void rejectsUnknownPackagesAndBadRanges() throws Exception {
+        mockMvc.perform(get("/api/packages/{id}/availability", 999_999))
+            .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/packages/{id}/availability", packageDetails.getId())
+                .param("jettyPointId", "999999"))
+            .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/packages/{id}/availability", packageDetails.getId())
+                .param("from", from.toString())
+                .param("to", from.minusDays(1).toString()))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/packages/{id}/availability", packageDetails.getId())
+                .param("from", from.toString())
+                .param("to", from.plusYears(2).toString()))
+            .andExpect(status().isBadRequest());
+    }
+
+    private Booking booking(LocalDate date, int passengers) {
+        return TestBookings.booking("RHM-CAL-" + System.nanoTime(), jettyPoint, packageDetails, date, passengers);
+    }
+}
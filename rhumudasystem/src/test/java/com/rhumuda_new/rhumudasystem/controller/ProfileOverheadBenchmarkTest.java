@@ -0,0 +1,102 @@
+package com.rhumuda_new.rhumudasystem.controller;
+
+import com.rhumuda_new.rhumudasystem.TestBookings;
+import com.rhumuda_new.rhumudasystem.RhumudasystemApplication;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.repository.BookingRepository;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requests per second over HTTP with the dev profile and with the prod profile, each layered over the
+ * test profile for its mail and CORS settings. Both run on H2, so the MySQL driver settings of the prod
+ * profile are not part of the comparison; this measures what dev's SQL and DEBUG logging costs.
+ * Excluded from the default build; run it with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ProfileOverheadBenchmarkTest {
+
+    private static final int BOOKINGS = 50;
+    private static final int WARM_UP = 500;
+    private static final int REQUESTS = 2_000;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void prodProfileServesMoreRequestsThanDev() throws Exception {
+        double dev = requestsPerSecond("dev");
+        double prod = requestsPerSecond("prod");
+
+        System.out.printf("Booking reads: %.0f req/s with the dev profile, %.0f req/s with prod (%.1fx)%n",
+            dev, prod, prod / dev);
+        assertThat(prod).isGreaterThan(dev);
+    }
+
+    private double requestsPerSecond(String profile) throws Exception {
+        String[] args = {
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:benchmark-" + profile + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+            "--spring.jpa.properties.hibernate.generate_statistics=false"
+        };
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RhumudasystemApplication.class)
+                .profiles("test", profile)
+                .run(args)) {
+            List<String> bookingIds = seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<URI> uris = new ArrayList<>();
+            for (String bookingId : bookingIds) {
+                uris.add(URI.create("http://localhost:" + port + "/api/bookings/" + bookingId));
+            }
+            uris.add(URI.create("http://localhost:" + port + "/api/bookings?limit=20"));
+
+            run(uris, WARM_UP);
+            long started = System.nanoTime();
+            run(uris, REQUESTS);
+            return REQUESTS / ((System.nanoTime() - started) / 1e9);
+        }
+    }
+
+    private void run(List<URI> uris, int requests) throws IOException, InterruptedException {
+        for (int i = 0; i < requests; i++) {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uris.get(i % uris.size())).build(),
+                HttpResponse.BodyHandlers.discarding());
+            assertThat(response.statusCode()).isEqualTo(200);
+        }
+    }
+
+    private static List<String> seed(ConfigurableApplicationContext context) {
+        JettyPoint jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Rhumuda");
+        context.getBean(JettyPointRepository.class).save(jettyPoint);
+        Package packageDetails = new Package();
+        packageDetails.setName("Private Boat");
+        context.getBean(PackageRepository.class).save(packageDetails);
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = TestBookings.booking("RHM-BENCH-" + i, jettyPoint, packageDetails,
+                LocalDate.now().plusDays(i), 2);
+            bookings.add(booking);
+        }
+        return context.getBean(BookingRepository.class).saveAll(bookings).stream().map(Booking::getBookingId).toList();
+    }
+}
@@ -0,0 +1,171 @@
+package com.rhumuda_new.rhumudasystem.controller;
+
+import com.rhumuda_new.rhumudasystem.dto.QuoteRequestDTO;
+import com.rhumuda_new.rhumudasystem.entity.AddOn;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.repository.AddOnRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QuoteControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuoteController quoteController;
+
+    @Autowired
+    private PackageCategoryRepository packageCategoryRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private AddOnRepository addOnRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Package packageDetails;
+    private AddOn lunch;
+    private AddOn photographer;
+
+    @BeforeEach
+    void setUp() {
+        PackageCategory category = new PackageCategory();
+        category.setName("Island Hopping");
+        packageCategoryRepository.save(category);
+
+        packageDetails = new Package();
+        packageDetails.setName("Three Islands");
+        packageDetails.setCategoryId(category.getId());
+        packageDetails.setBasePrice(new BigDecimal("120.00"));
+        packageRepository.save(packageDetails);
+
+        lunch = new AddOn();
+        lunch.setName("Packed Lunch");
+        lunch.setPrice(new BigDecimal("15.00"));
+        lunch.setPerPerson(true);
+        addOnRepository.save(lunch);
+
+        photographer = new AddOn();
+        photographer.setName("Photographer");
+        photographer.setPrice(new BigDecimal("200.00"));
+        photographer.setPerPerson(false);
+        addOnRepository.save(photographer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        addOnRepository.deleteAll();
+        packageRepository.deleteAll();
+        packageCategoryRepository.deleteAll();
+    }
+
+    @Test
+    void quotesPackageAndAddOnsWithoutTouchingTheDatabase() throws Exception {
+        String body = """
+            {"packageId": "%d", "passengers": 4, "addOns": ["%d", "%d"]}
+            """.formatted(packageDetails.getId(), lunch.getId(), photographer.getId());
+
+        // The first quote loads the price list
+        mockMvc.perform(post("/api/quotes").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/quotes").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.passengers").value(4))
+            .andExpect(jsonPath("$.packageTotal").value(480.0))
+            .andExpect(jsonPath("$.addOnsTotal").value(260.0))
+            .andExpect(jsonPath("$.total").value(740.0));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void repeatedAddOnIsChargedOnceLikeTheBooking() throws Exception {
+        String body = """
+            {"packageId": "%d", "passengers": 4, "addOns": ["%d", "%d", "%d"]}
+            """.formatted(packageDetails.getId(), lunch.getId(), photographer.getId(), lunch.getId());
+
+        mockMvc.perform(post("/api/quotes").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.addOnsTotal").value(260.0))
+            .andExpect(jsonPath("$.total").value(740.0));
+    }
+
+    @Test
+    void rejectsInvalidRequests() throws Exception {
+        mockMvc.perform(post("/api/quotes").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"packageId\": \"%d\", \"passengers\": 0}".formatted(packageDetails.getId())))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Validation failed"));
+
+        mockMvc.perform(post("/api/quotes").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"packageId\": \"abc\", \"passengers\": 2}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Invalid ID format"));
+
+        mockMvc.perform(post("/api/quotes").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"packageId\": \"999999\", \"passengers\": 2, \"addOns\": [\"888888\"]}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errors[0]").value("Package not found: 999999"))
+            .andExpect(jsonPath("$.errors[1]").value("AddOn not found: 888888"));
+    }
+
+    // Timing-based, so only under -Pbenchmark; the zero-query test above covers the behaviour
+    @Test
+    @Tag("benchmark")
+    void serverTimeStaysUnderAMillisecondAtP99() {
+        QuoteRequestDTO request = new QuoteRequestDTO();
+        request.setPackageId(packageDetails.getId().toString());
+        request.setPassengers(6);
+        request.setAddOns(List.of(lunch.getId().toString(), photographer.getId().toString()));
+
+        // Measured on the controller itself; MockMvc adds a few milliseconds of its own per request
+        for (int i = 0; i < 20_000; i++) {
+            quoteController.quote(request, new BeanPropertyBindingResult(request, "quoteRequest"));
+        }
+        int runs = 10_000;
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long started = System.nanoTime();
+            quoteController.quote(request, new BeanPropertyBindingResult(request, "quoteRequest"));
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        double p99 = nanos[runs * 99 / 100] / 1e6;
+        assertThat(p99).isLessThan(1);
+    }
+}
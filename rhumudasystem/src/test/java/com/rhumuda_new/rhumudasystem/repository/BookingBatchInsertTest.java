@@ -0,0 +1,108 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import com.rhumuda_new.rhumudasystem.TestBookings;
+import com.rhumuda_new.rhumudasystem.entity.AddOn;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class BookingBatchInsertTest {
+
+    // Matches hibernate.jdbc.batch_size and the bookings_seq allocation size
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private JettyPoint jettyPoint;
+    private Package packageDetails;
+    private Set<AddOn> addOns;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Rhumuda");
+        entityManager.persist(jettyPoint);
+
+        packageDetails = new Package();
+        packageDetails.setName("Private Boat");
+        entityManager.persist(packageDetails);
+
+        addOns = Set.of(addOn("Snorkel set"), addOn("Lunch"));
+        entityManager.flush();
+    }
+
+    @Test
+    void bookingsAndTheirAddOnsAreInsertedInBatches() {
+        int bookings = 10_000;
+        statistics.clear();
+
+        List<Booking> chunk = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < bookings; i++) {
+            chunk.add(booking(i));
+            if (chunk.size() == BATCH_SIZE) {
+                saveChunk(chunk);
+            }
+        }
+        saveChunk(chunk);
+
+        int batches = bookings / BATCH_SIZE;
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(bookings);
+        // Per 50 bookings: one batch of bookings, two of booking_addons rows and at most one sequence call,
+        // against one INSERT per booking and per add-on row with IDENTITY
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4L * batches + 1);
+        assertThat(bookingRepository.count()).isEqualTo(bookings);
+    }
+
+    private void saveChunk(List<Booking> chunk) {
+        bookingRepository.saveAll(chunk);
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+
+    private AddOn addOn(String name) {
+        AddOn addOn = new AddOn();
+        addOn.setName(name);
+        addOn.setPrice(new BigDecimal("20.00"));
+        entityManager.persist(addOn);
+        return addOn;
+    }
+
+    private Booking booking(int i) {
+        Booking booking = TestBookings.booking("RHM-BATCH-" + i,
+            entityManager.getReference(JettyPoint.class, jettyPoint.getId()),
+            entityManager.getReference(Package.class, packageDetails.getId()),
+            LocalDate.now().plusDays(i % 90), 2);
+        booking.setAddOns(Set.copyOf(addOns.stream().map(a -> entityManager.getReference(AddOn.class, a.getId())).toList()));
+        return booking;
+    }
+}
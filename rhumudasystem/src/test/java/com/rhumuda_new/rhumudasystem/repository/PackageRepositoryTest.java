@@ -0,0 +1,124 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import com.rhumuda_new.rhumudasystem.entity.IncludedService;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.entity.PriceTier;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class PackageRepositoryTest {
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void detailsLoadInTwoStatementsRegardlessOfPackageCount() {
+        Long small = createCategoryWithPackages(1);
+        Long large = createCategoryWithPackages(6);
+
+        assertThat(statementsToLoadAndWalk(small)).isEqualTo(2);
+        assertThat(statementsToLoadAndWalk(large)).isEqualTo(2);
+    }
+
+    @Test
+    void derivedQueryFansOutPerPackage() {
+        Long categoryId = createCategoryWithPackages(6);
+        entityManager.clear();
+        statistics.clear();
+
+        walk(packageRepository.findByCategoryIdAndIsActiveTrue(categoryId));
+
+        assertThat(statistics.getPrepareStatementCount()).isGreaterThan(6);
+    }
+
+    @Test
+    void loadedPackagesCarryEveryTierAndService() {
+        Long categoryId = createCategoryWithPackages(3);
+        entityManager.clear();
+
+        List<Package> packages = packageRepository.findActiveWithDetailsByCategoryId(categoryId);
+
+        assertThat(packages).hasSize(3);
+        assertThat(packages).allSatisfy(p -> {
+            assertThat(p.getCategory().getName()).isEqualTo("Category " + categoryId);
+            assertThat(p.getPriceTiers()).hasSize(2);
+            assertThat(p.getServices()).hasSize(3);
+        });
+    }
+
+    private long statementsToLoadAndWalk(Long categoryId) {
+        entityManager.clear();
+        statistics.clear();
+        walk(packageRepository.findActiveWithDetailsByCategoryId(categoryId));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void walk(List<Package> packages) {
+        // Touch everything Jackson would serialize
+        for (Package p : packages) {
+            if (p.getCategory() != null) {
+                p.getCategory().getName();
+            }
+            p.getPriceTiers().forEach(PriceTier::getPrice);
+            p.getServices().forEach(IncludedService::getName);
+        }
+    }
+
+    private Long createCategoryWithPackages(int packageCount) {
+        PackageCategory category = new PackageCategory();
+        category.setName("pending");
+        entityManager.persist(category);
+        category.setName("Category " + category.getId());
+
+        for (int i = 0; i < packageCount; i++) {
+            Package packageDetails = new Package();
+            packageDetails.setName("Package " + i);
+            packageDetails.setCategoryId(category.getId());
+            for (String type : List.of("ADULT", "CHILD")) {
+                PriceTier tier = new PriceTier();
+                tier.setType(type);
+                tier.setPrice(new BigDecimal("100.00"));
+                tier.setPackageEntity(packageDetails);
+                packageDetails.getPriceTiers().add(tier);
+            }
+            for (String name : List.of("Snorkel", "Lunch", "Guide")) {
+                IncludedService service = new IncludedService();
+                service.setName(name);
+                service.setPackageEntity(packageDetails);
+                packageDetails.getServices().add(service);
+            }
+            entityManager.persist(packageDetails);
+        }
+
+        entityManager.flush();
+        return category.getId();
+    }
+}
@@ -0,0 +1,236 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import com.rhumuda_new.rhumudasystem.TestBookings;
+import com.rhumuda_new.rhumudasystem.entity.AddOn;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+import com.rhumuda_new.rhumudasystem.entity.EmailOutboxMessage.OutboxStatus;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.transaction.BeforeTransaction;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the hot repository queries, captures the SQL Hibernate sends and checks H2's EXPLAIN for it:
+ * no table may be read with a full scan, and the index the migration added for the query must be used.
+ * H2 runs in MySQL mode on the production migrations, so a query that stops matching its index fails here.
+ * The add-on and jetty point lists are left out: those tables hold a few dozen rows and are read whole.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.rhumuda_new.rhumudasystem.repository.QueryPlanTest$SqlRecorder")
+class QueryPlanTest {
+
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> statements = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Package packageDetails;
+    private JettyPoint jettyPoint;
+    private PackageCategory category;
+
+    /**
+     * H2 has no statistics for rows inserted by the test, and with its default selectivity the
+     * jetty_point_id foreign key index costs the same as the composite search indexes. ANALYZE would
+     * commit the test data, so the columns get the selectivity of a few packages and jetty points
+     * directly, before the test transaction starts.
+     */
+    @BeforeTransaction
+    void setSelectivity() {
+        jdbcTemplate.execute("alter table bookings alter column package_id selectivity 10");
+        jdbcTemplate.execute("alter table bookings alter column jetty_point_id selectivity 10");
+    }
+
+    @BeforeEach
+    void setUp() {
+        category = new PackageCategory();
+        category.setName("Boat Charter");
+        entityManager.persist(category);
+
+        jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Rhumuda");
+        entityManager.persist(jettyPoint);
+
+        packageDetails = new Package();
+        packageDetails.setName("Private Boat");
+        packageDetails.setCategoryId(category.getId());
+        entityManager.persist(packageDetails);
+
+        AddOn addOn = new AddOn();
+        addOn.setName("Snorkel set");
+        addOn.setPrice(new BigDecimal("20.00"));
+        entityManager.persist(addOn);
+
+        for (int i = 0; i < 20; i++) {
+            Booking booking = TestBookings.booking("RHM-PLAN-" + i, jettyPoint, packageDetails,
+                LocalDate.now().plusDays(i), 2);
+            booking.setPhoneNumber("01234567" + i);
+            booking.setEmail("aisyah" + i + "@example.com");
+            booking.setAddOns(Set.of(addOn));
+            entityManager.persist(booking);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void packagesOfACategoryUseTheCategoryKey() {
+        // Foreign key index on packages.category_id (named by Hibernate in V1)
+        assertPlan(() -> packageRepository.findByCategoryIdAndIsActiveTrue(category.getId()), "fk2s95b2oov54ktu70qswfqf6cg");
+        assertPlan(() -> packageRepository.findActiveWithCategoryAndTiers(category.getId()), "fk2s95b2oov54ktu70qswfqf6cg");
+    }
+
+    @Test
+    void bookingLookupsUseTheirIndexes() {
+        assertPlan(() -> bookingRepository.findByBookingId("RHM-PLAN-1"), "uke0p6k9xpku6j2m89duwxuqw11");
+        assertPlan(() -> bookingRepository.findStatusByBookingId("RHM-PLAN-1"), "uke0p6k9xpku6j2m89duwxuqw11");
+        assertPlan(() -> bookingRepository.findViewRows("RHM-PLAN-1"), "uke0p6k9xpku6j2m89duwxuqw11");
+        assertPlan(() -> bookingRepository.sumSeatsByDate(packageDetails.getId(), jettyPoint.getId(), LocalDate.now(), BookingStatus.CANCELLED),
+            "idx_bookings_seats");
+        assertPlan(() -> bookingRepository.transitionStatus("RHM-PLAN-1", BookingStatus.INCOMPLETE, BookingStatus.PENDING, LocalDateTime.now()),
+            "uke0p6k9xpku6j2m89duwxuqw11");
+        assertExportPlan(BookingBulkRepository.exportQuery(true, true), "idx_bookings_date");
+    }
+
+    @Test
+    void adminSearchesUseTheIndexForTheirFilter() {
+        LocalDate from = LocalDate.now();
+        assertSortedSearchPlan(() -> search(new BookingSearchFilter(null, from, from.plusDays(7), null, null, null, null)),
+            "idx_bookings_date");
+        assertSortedSearchPlan(() -> search(new BookingSearchFilter(BookingStatus.PENDING, from, null, null, null, null, null)),
+            "idx_bookings_status_date", "status");
+        assertSortedSearchPlan(() -> search(new BookingSearchFilter(null, from, null, jettyPoint.getId(), null, null, null)),
+            "idx_bookings_jetty_date", "jetty_point_id");
+        assertSortedSearchPlan(() -> search(new BookingSearchFilter(null, null, null, jettyPoint.getId(), packageDetails.getId(), null, null)),
+            "idx_bookings_package_jetty_date", "package_id", "jetty_point_id");
+        assertPrefixPlan(() -> search(new BookingSearchFilter(null, null, null, null, null, "aisyah1", null)), "aisyah1%",
+            "idx_bookings_email");
+        assertPrefixPlan(() -> search(new BookingSearchFilter(null, null, null, null, null, null, "0123")), "0123%",
+            "idx_bookings_phone");
+    }
+
+    @Test
+    void backgroundJobQueriesUseTheirIndexes() {
+        assertPlan(() -> emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            OutboxStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, 50)), "idx_email_outbox_due");
+        assertPlan(() -> emailOutboxRepository.findByBookingId("RHM-PLAN-1"), "idx_email_outbox_booking");
+        assertPlan(() -> idempotencyRecordRepository.deleteExpired(LocalDateTime.now()), "idx_idempotency_keys_expires_at");
+    }
+
+    private void search(BookingSearchFilter filter) {
+        bookingRepository.search(filter, null, 50);
+    }
+
+    /**
+     * Runs the query and explains every statement it sent. None may scan a table, and the first
+     * (the query itself, ahead of any lazy loads) must use one of the given indexes.
+     */
+    private void assertPlan(Runnable query, String... expectedIndexes) {
+        SqlRecorder.statements.clear();
+        query.run();
+        List<String> statements = List.copyOf(SqlRecorder.statements);
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            assertThat(explain(sql)).as(sql).doesNotContainIgnoringCase("tableScan");
+        }
+        assertUsesIndex(statements.get(0), expectedIndexes);
+    }
+
+    /**
+     * The admin search pages on (booking_date, id). H2 only reports an index as sorted when it starts
+     * with the sort columns, so for the filtered searches the index itself is checked: its equality
+     * columns followed by booking_date and id, which lets MySQL read the page in order without a filesort.
+     */
+    private void assertSortedSearchPlan(Runnable query, String expectedIndex, String... equalityColumns) {
+        assertPlan(query, expectedIndex);
+        List<String> columns = jdbcTemplate.queryForList(
+            "select column_name from information_schema.index_columns where index_name = ? order by ordinal_position",
+            String.class, expectedIndex);
+        assertThat(columns).as(expectedIndex)
+            .containsExactlyElementsOf(Stream.concat(Stream.of(equalityColumns), Stream.of("booking_date", "id")).toList());
+    }
+
+    /**
+     * MySQL plans a prefix LIKE once the pattern is bound; H2's EXPLAIN cannot see a bind value,
+     * so the pattern is written into the statement before it is explained.
+     */
+    private void assertPrefixPlan(Runnable query, String pattern, String expectedIndex) {
+        SqlRecorder.statements.clear();
+        query.run();
+        String sql = SqlRecorder.statements.get(0).replace("like ?", "like '" + pattern + "'");
+        assertThat(explain(sql)).as(sql).doesNotContainIgnoringCase("tableScan");
+        assertUsesIndex(sql, expectedIndex);
+    }
+
+    private void assertExportPlan(String sql, String expectedIndex) {
+        assertThat(explain(sql)).as(sql).doesNotContainIgnoringCase("tableScan");
+        assertUsesIndex(sql, expectedIndex);
+    }
+
+    private void assertUsesIndex(String sql, String... expectedIndexes) {
+        String plan = explain(sql).toLowerCase();
+        assertThat(expectedIndexes).as("%s%n%s", sql, plan).anyMatch(plan::contains);
+    }
+
+    private String explain(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet plan = statement.executeQuery()) {
+                StringBuilder text = new StringBuilder();
+                while (plan.next()) {
+                    text.append(plan.getString(1)).append('\n');
+                }
+                return text.toString();
+            }
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.rhumuda_new.rhumudasystem.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A database created by ddl-auto=update before the migrations existed has no Flyway history. It is
+ * baselined at V1 and must then get every later migration.
+ */
+class SchemaMigrationTest {
+
+    @Test
+    void preMigrationDatabaseIsBaselinedAndMigrated() throws Exception {
+        DataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:premigration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/common/V1__baseline.sql"));
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO package_categories (name) VALUES ('Boat Charter')");
+        jdbc.update("INSERT INTO packages (name, category_id) VALUES ('Private Boat', 1)");
+        jdbc.update("INSERT INTO jetty_points (name, is_active) VALUES ('Jeti Rhumuda', true)");
+        jdbc.update("INSERT INTO bookings (booking_id, status, first_name, last_name, phone_number, email, address_line1, "
+            + "postal_code, city, country, jetty_point_id, booking_date, passengers, package_id, created_at, updated_at) "
+            + "VALUES ('RHM-OLD-1', 'PENDING', 'Aisyah', 'Rahman', '0123456789', 'aisyah@example.com', '1 Jalan Pantai', "
+            + "'22200', 'Besut', 'Malaysia', 1, CURRENT_DATE, 2, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+
+        MigrateResult result = Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+            .baselineOnMigrate(true)
+            .baselineVersion("1")
+            .load()
+            .migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(result.migrations).extracting(migration -> migration.version)
+            .containsExactly("2", "3", "4", "5", "6", "7", "8", "9");
+        assertThat(jdbc.queryForObject("SELECT version FROM bookings WHERE booking_id = 'RHM-OLD-1'", Long.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM email_outbox", Integer.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM idempotency_keys", Integer.class)).isZero();
+    }
+}
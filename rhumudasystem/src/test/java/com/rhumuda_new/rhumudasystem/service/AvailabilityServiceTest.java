@@ -0,0 +1,302 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.TestBookings;
+import com.rhumuda_new.rhumudasystem.dto.AvailabilityDayDTO;
+import com.rhumuda_new.rhumudasystem.dto.BookingDTO;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.Booking.BookingStatus;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.exception.CapacityExceededException;
+import com.rhumuda_new.rhumudasystem.repository.BookingRepository;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AvailabilityServiceTest {
+
+    private static final int CAPACITY = 10;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private PackageCategoryRepository packageCategoryRepository;
+
+    @Autowired
+    private JettyPointRepository jettyPointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Package packageDetails;
+    private JettyPoint jettyPoint;
+    private final LocalDate date = LocalDate.now().plusDays(30);
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        PackageCategory category = new PackageCategory();
+        category.setName("Boat Charter");
+        packageCategoryRepository.save(category);
+
+        packageDetails = new Package();
+        packageDetails.setName("Private Boat");
+        packageDetails.setCategoryId(category.getId());
+        packageDetails.setMaxCapacity(CAPACITY);
+        packageRepository.save(packageDetails);
+
+        jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Rhumuda");
+        jettyPointRepository.save(jettyPoint);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        packageRepository.deleteAll();
+        packageCategoryRepository.deleteAll();
+        jettyPointRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentCreatesNeverOverbook() throws Exception {
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    Booking booking = booking(3, BookingStatus.INCOMPLETE);
+                    start.await();
+                    try {
+                        bookingService.createBooking(booking);
+                        return true;
+                    } catch (CapacityExceededException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    created++;
+                }
+            }
+
+            // Three bookings of three fit in ten seats; the fourth would overbook
+            assertThat(created).isEqualTo(3);
+            assertThat(bookingRepository.findAll())
+                .extracting(Booking::getPassengers)
+                .containsExactly(3, 3, 3);
+            assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), date)).isEqualTo(9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentReservationsStopExactlyAtCapacity() throws Exception {
+        int threads = 16;
+        int attemptsPerThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        AvailabilityService.Hold oneSeat = new AvailabilityService.Hold(
+            new AvailabilityService.Route(packageDetails.getId(), jettyPoint.getId()), date, 1, CAPACITY);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        try {
+                            availabilityService.reserve(oneSeat);
+                            reserved.incrementAndGet();
+                        } catch (CapacityExceededException e) {
+                            // Full
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(reserved.get()).isEqualTo(CAPACITY);
+        assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), date)).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void existingBookingsAreLoadedAndCancelledOnesIgnored() {
+        // Written straight to the repository, before the service has seen this package
+        bookingRepository.save(booking(4, BookingStatus.PENDING));
+        bookingRepository.save(booking(2, BookingStatus.COMPLETE));
+        bookingRepository.save(booking(5, BookingStatus.CANCELLED));
+
+        assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), date)).isEqualTo(6);
+        assertThatThrownBy(() -> bookingService.createBooking(booking(5, BookingStatus.INCOMPLETE)))
+            .isInstanceOf(CapacityExceededException.class);
+    }
+
+    @Test
+    void cancellingReleasesSeats() {
+        Booking booking = bookingService.createBooking(booking(8, BookingStatus.INCOMPLETE));
+
+        BookingDTO cancelled = bookingService.getBookingById(booking.getBookingId());
+        cancelled.setStatus("CANCELLED");
+        bookingService.updateBooking(booking.getBookingId(), cancelled);
+
+        assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), date)).isZero();
+        bookingService.createBooking(booking(CAPACITY, BookingStatus.INCOMPLETE));
+    }
+
+    @Test
+    void bookingsWrittenElsewhereAreCountedAfterAReconcile() {
+        bookingService.createBooking(booking(3, BookingStatus.INCOMPLETE));
+        // As another instance would, straight to the table
+        bookingRepository.save(booking(4, BookingStatus.PENDING));
+        assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), date)).isEqualTo(3);
+
+        availabilityService.reconcile();
+
+        assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), date)).isEqualTo(7);
+        assertThatThrownBy(() -> bookingService.createBooking(booking(4, BookingStatus.INCOMPLETE)))
+            .isInstanceOf(CapacityExceededException.class);
+    }
+
+    @Test
+    void firstWriteToARouteCanBeAnUpdate() {
+        Booking booking = bookingRepository.save(booking(2, BookingStatus.PENDING));
+
+        BookingDTO bigger = bookingService.getBookingById(booking.getBookingId());
+        bigger.setPassengers(3);
+        bookingService.updateBooking(booking.getBookingId(), bigger);
+
+        assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), date)).isEqualTo(3);
+    }
+
+    @Test
+    void firstWriteToARouteCanMoveADate() {
+        Booking booking = bookingRepository.save(booking(CAPACITY, BookingStatus.PENDING));
+
+        BookingDTO moved = bookingService.getBookingById(booking.getBookingId());
+        moved.setBookingDate(date.plusDays(1));
+        bookingService.updateBooking(booking.getBookingId(), moved);
+
+        assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), date)).isZero();
+        assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), date.plusDays(1)))
+            .isEqualTo(CAPACITY);
+        assertThatThrownBy(() -> bookingService.createBooking(bookingOn(date.plusDays(1), 1)))
+            .isInstanceOf(CapacityExceededException.class);
+    }
+
+    @Test
+    void reconcileLeavesSeatsOfOpenTransactionsAlone() throws Exception {
+        bookingService.createBooking(booking(2, BookingStatus.INCOMPLETE));
+        CountDownLatch reserved = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> open = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                bookingService.createBooking(booking(5, BookingStatus.INCOMPLETE));
+                reserved.countDown();
+                try {
+                    commit.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            reserved.await(30, TimeUnit.SECONDS);
+
+            availabilityService.reconcile();
+            assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), date)).isEqualTo(7);
+
+            commit.countDown();
+            open.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        availabilityService.reconcile();
+        assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), date)).isEqualTo(7);
+    }
+
+    @Test
+    void rolledBackCreateGivesSeatsBack() {
+        Booking first = bookingService.createBooking(booking(3, BookingStatus.INCOMPLETE));
+        Booking duplicate = booking(3, BookingStatus.INCOMPLETE);
+        duplicate.setBookingId(first.getBookingId());
+
+        assertThatThrownBy(() -> bookingService.createBooking(duplicate))
+            .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(availabilityService.bookedSeats(packageDetails.getId(), jettyPoint.getId(), date)).isEqualTo(3);
+    }
+
+    @Test
+    void calendarForTheNextNinetyDaysMarksFullDates() {
+        bookingService.createBooking(booking(9, BookingStatus.INCOMPLETE));
+        LocalDate from = LocalDate.now();
+
+        List<LocalDate> dates = availabilityService.getCalendar(packageDetails.getId(), jettyPoint.getId(), from, from.plusDays(89), 2)
+            .stream().filter(AvailabilityDayDTO::isAvailable).map(AvailabilityDayDTO::getDate).toList();
+
+        assertThat(dates).hasSize(89).doesNotContain(date);
+    }
+
+    private Booking bookingOn(LocalDate bookingDate, int passengers) {
+        Booking booking = booking(passengers, BookingStatus.INCOMPLETE);
+        booking.setBookingDate(bookingDate);
+        return booking;
+    }
+
+    private Booking booking(int passengers, BookingStatus status) {
+        String bookingId = "RHM-AVAIL-" + sequence.incrementAndGet() + "-" + System.nanoTime();
+        Booking booking = TestBookings.booking(bookingId, jettyPoint, packageDetails, date, passengers);
+        booking.setStatus(status);
+        return booking;
+    }
+}
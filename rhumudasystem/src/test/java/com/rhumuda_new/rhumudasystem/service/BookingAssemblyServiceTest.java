@@ -0,0 +1,133 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.TestBookings;
+import com.rhumuda_new.rhumudasystem.dto.BookingDTO;
+import com.rhumuda_new.rhumudasystem.entity.AddOn;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.exception.UnresolvedReferenceException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(BookingAssemblyService.class)
+class BookingAssemblyServiceTest {
+
+    @Autowired
+    private BookingAssemblyService bookingAssemblyService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private JettyPoint jettyPoint;
+    private Package packageDetails;
+    private final List<AddOn> addOns = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Rhumuda");
+        entityManager.persist(jettyPoint);
+
+        packageDetails = new Package();
+        packageDetails.setName("Island Hopping");
+        entityManager.persist(packageDetails);
+
+        for (int i = 0; i < 10; i++) {
+            AddOn addOn = new AddOn();
+            addOn.setName("Add-on " + i);
+            addOn.setPrice(BigDecimal.TEN);
+            entityManager.persist(addOn);
+            addOns.add(addOn);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void queryCountDoesNotGrowWithAddOns() {
+        long withOneAddOn = statementsToAssemble(1);
+        long withTenAddOns = statementsToAssemble(10);
+
+        assertThat(withOneAddOn).isEqualTo(3);
+        assertThat(withTenAddOns).isEqualTo(withOneAddOn);
+    }
+
+    @Test
+    void assembledBookingCarriesResolvedReferences() {
+        Booking booking = bookingAssemblyService.assemble(bookingWithAddOns(5));
+
+        assertThat(booking.getJettyPoint().getId()).isEqualTo(jettyPoint.getId());
+        assertThat(booking.getPackageDetails().getId()).isEqualTo(packageDetails.getId());
+        assertThat(booking.getAddOns()).hasSize(5);
+        assertThat(booking.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void reportsEveryUnknownReference() {
+        BookingDTO dto = bookingWithAddOns(2);
+        dto.setJettyPoint("9999");
+        List<String> requestedAddOns = new ArrayList<>(dto.getAddOns());
+        requestedAddOns.add("8888");
+        requestedAddOns.add("7777");
+        dto.setAddOns(requestedAddOns);
+
+        assertThatThrownBy(() -> bookingAssemblyService.assemble(dto))
+            .isInstanceOf(UnresolvedReferenceException.class)
+            .extracting(e -> ((UnresolvedReferenceException) e).getErrors())
+            .asInstanceOf(InstanceOfAssertFactories.LIST)
+            .containsExactly("JettyPoint not found: 9999", "AddOn not found: 8888", "AddOn not found: 7777");
+    }
+
+    @Test
+    void malformedIdFailsBeforeAnyQuery() {
+        BookingDTO dto = bookingWithAddOns(1);
+        dto.setAddOns(List.of("abc"));
+        statistics.clear();
+
+        assertThatThrownBy(() -> bookingAssemblyService.assemble(dto))
+            .isInstanceOf(NumberFormatException.class);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private long statementsToAssemble(int addOnCount) {
+        entityManager.clear();
+        statistics.clear();
+        bookingAssemblyService.assemble(bookingWithAddOns(addOnCount));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private BookingDTO bookingWithAddOns(int addOnCount) {
+        BookingDTO dto = TestBookings.bookingDto("RHM-TEST", jettyPoint.getId().toString(), LocalDate.now().plusDays(7), 2);
+        dto.setStatus("INCOMPLETE");
+        dto.setPackageId(packageDetails.getId().toString());
+        dto.setAddOns(addOns.subList(0, addOnCount).stream().map(a -> a.getId().toString()).toList());
+        return dto;
+    }
+}
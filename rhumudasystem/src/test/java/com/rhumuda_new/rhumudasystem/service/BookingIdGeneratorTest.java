@@ -0,0 +1,104 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 500_000;
+
+    @Test
+    void concurrentAllocationNeverCollides() throws Exception {
+        BookingIdGenerator generator = new BookingIdGenerator(7);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    long[] ids = new long[IDS_PER_THREAD];
+                    start.await();
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            long[] all = new long[THREADS * IDS_PER_THREAD];
+            int offset = 0;
+            for (Future<long[]> result : results) {
+                long[] ids = result.get(60, TimeUnit.SECONDS);
+                // Each thread sees strictly increasing IDs
+                for (int i = 1; i < ids.length; i++) {
+                    assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                }
+                System.arraycopy(ids, 0, all, offset, ids.length);
+                offset += ids.length;
+            }
+            Arrays.sort(all);
+            for (int i = 1; i < all.length; i++) {
+                assertThat(all[i]).as("duplicate id").isNotEqualTo(all[i - 1]);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void nodesAllocatingInTheSameMillisecondNeverCollide() {
+        long now = System.currentTimeMillis();
+        BookingIdGenerator first = new BookingIdGenerator(1, () -> now);
+        BookingIdGenerator second = new BookingIdGenerator(2, () -> now);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(first.nextBookingId()).isNotEqualTo(second.nextBookingId());
+        }
+    }
+
+    @Test
+    void clockGoingBackwardsStillProducesIncreasingIds() {
+        AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+        BookingIdGenerator generator = new BookingIdGenerator(0, clock::get);
+
+        String before = generator.nextBookingId();
+        clock.addAndGet(-5_000);
+        String after = generator.nextBookingId();
+
+        assertThat(after).isGreaterThan(before);
+    }
+
+    @Test
+    void bookingIdsArePrefixedFixedLengthAndSortable() {
+        BookingIdGenerator generator = new BookingIdGenerator(3);
+
+        String first = generator.nextBookingId();
+        String second = generator.nextBookingId();
+
+        assertThat(first).startsWith("RHM").hasSize(16).matches("RHM[0-9A-Z]{13}");
+        assertThat(second).isGreaterThan(first);
+        assertThat(BookingIdGenerator.format(1)).isEqualTo("RHM0000000000001");
+    }
+
+    @Test
+    void nodeIdMustFitInTenBits() {
+        assertThatThrownBy(() -> new BookingIdGenerator(1024))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BookingIdGenerator(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,182 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.entity.AddOn;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.entity.PriceTier;
+import com.rhumuda_new.rhumudasystem.repository.AddOnRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogServiceTest {
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private PackageCategoryRepository packageCategoryRepository;
+
+    @Autowired
+    private AddOnRepository addOnRepository;
+
+    @Autowired
+    private CatalogLoader catalogLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        PackageCategory category = new PackageCategory();
+        category.setName("Fishing");
+        categoryId = packageCategoryRepository.save(category).getId();
+
+        Package packageDetails = new Package();
+        packageDetails.setName("Squid Jigging");
+        packageDetails.setCategoryId(categoryId);
+        PriceTier tier = new PriceTier();
+        tier.setType("ADULT");
+        tier.setPrice(new BigDecimal("150.00"));
+        tier.setPackageEntity(packageDetails);
+        packageDetails.getPriceTiers().add(tier);
+        packageRepository.save(packageDetails);
+
+        AddOn addOn = new AddOn();
+        addOn.setName("Life jacket");
+        addOn.setPrice(BigDecimal.ONE);
+        addOnRepository.save(addOn);
+
+        catalogCache.invalidate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        packageRepository.deleteAll();
+        addOnRepository.deleteAll();
+        packageCategoryRepository.deleteAll();
+    }
+
+    @Test
+    void steadyStateReadsDoNotTouchTheDatabase() {
+        catalogService.getActivePackages(categoryId);
+        catalogService.getActiveAddOns();
+        CatalogCache.Stats before = catalogCache.getStats();
+
+        statistics.clear();
+        List<Package> packages = catalogService.getActivePackages(categoryId);
+        List<AddOn> addOns = catalogService.getActiveAddOns();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(packages).hasSize(1);
+        assertThat(packages.get(0).getPriceTiers()).hasSize(1);
+        assertThat(addOns).hasSize(1);
+        assertThat(catalogCache.getStats().hits()).isEqualTo(before.hits() + 2);
+        assertThat(catalogCache.getStats().misses()).isEqualTo(before.misses());
+    }
+
+    @Test
+    void writesInvalidateTheCache() {
+        catalogService.getActiveAddOns();
+        long version = catalogCache.getVersion();
+
+        AddOn addOn = new AddOn();
+        addOn.setName("Fishing rod");
+        addOn.setPrice(BigDecimal.TEN);
+        addOnRepository.save(addOn);
+
+        assertThat(catalogCache.getVersion()).isGreaterThan(version);
+        assertThat(catalogService.getActiveAddOns()).hasSize(2);
+    }
+
+    @Test
+    void cacheIsBoundedInSize() {
+        CatalogCache small = new CatalogCache(2, Duration.ofMinutes(5), Duration.ofSeconds(10), System::nanoTime);
+        small.get("a", () -> 1);
+        small.get("b", () -> 2);
+        small.get("c", () -> 3);
+
+        assertThat(small.getStats().size()).isEqualTo(2);
+        assertThat(small.getStats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void packageAddedInSqlIsFoundOnAMissOncePerInterval() {
+        AtomicLong now = new AtomicLong();
+        CatalogService service = catalogService(now);
+        service.hasPackage(-1L);
+
+        // Inserted behind JPA's back, so no listener invalidates the cache
+        jdbcTemplate.update("INSERT INTO packages (name, category_id, is_active) VALUES ('Island Hopping', ?, true)", categoryId);
+        Long packageId = jdbcTemplate.queryForObject("SELECT id FROM packages WHERE name = 'Island Hopping'", Long.class);
+
+        statistics.clear();
+        assertThat(service.hasPackage(packageId)).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        long version = service.getVersion();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(service.hasPackage(packageId)).isTrue();
+        // A new version, so the catalog snapshot is rebuilt as well
+        assertThat(service.getVersion()).isGreaterThan(version);
+        assertThat(service.getPackageCapacity(packageId)).isEmpty();
+        assertThat(service.getPriceList(packageId, List.of()).packageRate(packageId)).isNotNull();
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() {
+        AtomicLong now = new AtomicLong();
+        CatalogService service = catalogService(now);
+        assertThat(service.getActiveAddOns()).hasSize(1);
+
+        jdbcTemplate.update("INSERT INTO add_ons (name, price, is_active, per_person) VALUES ('Snorkel set', 15.00, true, false)");
+
+        now.addAndGet(Duration.ofMinutes(5).toNanos() - 1);
+        assertThat(service.getActiveAddOns()).hasSize(1);
+        long version = service.getVersion();
+        now.addAndGet(1);
+        assertThat(service.getActiveAddOns()).hasSize(2);
+        assertThat(service.getVersion()).isGreaterThan(version);
+    }
+
+    private CatalogService catalogService(AtomicLong now) {
+        CatalogService service = new CatalogService();
+        ReflectionTestUtils.setField(service, "catalogCache",
+            new CatalogCache(256, Duration.ofMinutes(5), Duration.ofSeconds(10), now::get));
+        ReflectionTestUtils.setField(service, "catalogLoader", catalogLoader);
+        return service;
+    }
+}
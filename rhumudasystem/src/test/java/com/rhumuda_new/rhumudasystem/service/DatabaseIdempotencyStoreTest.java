@@ -0,0 +1,117 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.repository.IdempotencyRecordRepository;
+import com.rhumuda_new.rhumudasystem.service.IdempotencyStore.State;
+import com.rhumuda_new.rhumudasystem.service.IdempotencyStore.StoredResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.idempotency.store=database")
+@ActiveProfiles("test")
+class DatabaseIdempotencyStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final String HASH = "request";
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private IdempotentRequests idempotentRequests;
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRecordRepository.deleteAll();
+    }
+
+    @Test
+    void recordsAndReplaysResponses() {
+        assertThat(idempotencyStore).isInstanceOf(DatabaseIdempotencyStore.class);
+
+        assertThat(idempotencyStore.claim("k1", HASH, TTL).state()).isEqualTo(State.ACQUIRED);
+        assertThat(idempotencyStore.claim("k1", HASH, TTL).state()).isEqualTo(State.IN_PROGRESS);
+
+        idempotencyStore.complete("k1", new StoredResponse(200, "{\"bookingId\":\"RHM1\"}"));
+
+        IdempotencyStore.Claim repeat = idempotencyStore.claim("k1", HASH, TTL);
+        assertThat(repeat.state()).isEqualTo(State.COMPLETED);
+        assertThat(repeat.response()).isEqualTo(new StoredResponse(200, "{\"bookingId\":\"RHM1\"}"));
+    }
+
+    @Test
+    void keyReusedWithAnotherRequestIsRefused() {
+        idempotencyStore.claim("k2", HASH, TTL);
+        idempotencyStore.complete("k2", new StoredResponse(201, null));
+
+        assertThat(idempotencyStore.claim("k2", "other", TTL).state()).isEqualTo(State.MISMATCHED);
+        assertThat(idempotencyStore.claim("k2", HASH, TTL).state()).isEqualTo(State.COMPLETED);
+    }
+
+    @Test
+    void longScopesFitTheKeyColumn() {
+        String scope = "PUT /api/bookings/" + "9".repeat(300) + "/submit";
+        String key = "k".repeat(100);
+
+        idempotentRequests.execute(scope, key, null, () -> ResponseEntity.ok().build());
+        ResponseEntity<?> repeat = idempotentRequests.execute(scope, key, null, () -> ResponseEntity.ok().build());
+
+        assertThat(repeat.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(idempotencyRecordRepository.findAll()).singleElement()
+            .satisfies(record -> assertThat(record.getKey()).hasSize(64));
+    }
+
+    @Test
+    void releasedAndExpiredKeysCanBeClaimedAgain() {
+        idempotencyStore.claim("released", HASH, TTL);
+        idempotencyStore.release("released");
+        assertThat(idempotencyStore.claim("released", HASH, TTL).state()).isEqualTo(State.ACQUIRED);
+
+        idempotencyStore.claim("expired", HASH, Duration.ZERO);
+        assertThat(idempotencyStore.claim("expired", HASH, TTL).state()).isEqualTo(State.ACQUIRED);
+    }
+
+    @Test
+    void concurrentClaimsHaveOneWinner() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<State>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return idempotencyStore.claim("contended", HASH, TTL).state();
+                }));
+            }
+            start.countDown();
+
+            int acquired = 0;
+            for (Future<State> result : results) {
+                if (result.get(30, TimeUnit.SECONDS) == State.ACQUIRED) {
+                    acquired++;
+                }
+            }
+            assertThat(acquired).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.TestBookings;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.EmailOutboxMessage;
+import com.rhumuda_new.rhumudasystem.entity.EmailOutboxMessage.MessageType;
+import com.rhumuda_new.rhumudasystem.entity.EmailOutboxMessage.OutboxStatus;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.repository.BookingRepository;
+import com.rhumuda_new.rhumudasystem.repository.EmailOutboxRepository;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends outbox batches through a real {@code JavaMailSenderImpl} against {@link LocalSmtpServer}
+ * and checks how many SMTP connections are opened.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EmailBatchingTest {
+
+    private static final int BOOKINGS = 10;
+
+    private static final LocalSmtpServer smtpServer = startSmtpServer();
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "127.0.0.1");
+        registry.add("spring.mail.port", smtpServer::getPort);
+        registry.add("spring.mail.password", () -> "");
+        registry.add("spring.mail.properties.mail.smtp.auth", () -> "false");
+        registry.add("spring.mail.properties.mail.smtp.starttls.enable", () -> "false");
+    }
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JettyPointRepository jettyPointRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private PackageCategoryRepository packageCategoryRepository;
+
+    private final List<String> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        smtpServer.reset();
+
+        PackageCategory category = new PackageCategory();
+        category.setName("Boat Charter");
+        packageCategoryRepository.save(category);
+
+        Package packageDetails = new Package();
+        packageDetails.setName("Private Boat");
+        packageDetails.setCategoryId(category.getId());
+        packageRepository.save(packageDetails);
+
+        JettyPoint jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Rhumuda");
+        jettyPointRepository.save(jettyPoint);
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = TestBookings.booking("RHM-BATCH-" + i, jettyPoint,
+                packageRepository.findById(packageDetails.getId()).orElseThrow(), LocalDate.now().plusDays(14), 2);
+            booking.setFirstName("Guest");
+            booking.setLastName(String.valueOf(i));
+            booking.setEmail("guest" + i + "@example.com");
+            bookingRepository.save(booking);
+            bookingIds.add(booking.getBookingId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(dispatcher, "linger", Duration.ZERO);
+        emailOutboxRepository.deleteAll();
+        bookingRepository.deleteAll();
+        packageRepository.deleteAll();
+        packageCategoryRepository.deleteAll();
+        jettyPointRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void stopSmtpServer() throws IOException {
+        smtpServer.close();
+    }
+
+    @Test
+    void sendingOneByOneOpensAConnectionPerMessage() throws Exception {
+        for (String bookingId : bookingIds) {
+            emailService.sendCustomerEmail(bookingService.getBookingById(bookingId));
+        }
+
+        assertThat(smtpServer.getMessages()).isEqualTo(BOOKINGS);
+        assertThat(smtpServer.getConnections()).isEqualTo(BOOKINGS);
+    }
+
+    @Test
+    void dispatcherSendsTheWholeBatchOverOneConnection() {
+        queueAll();
+
+        dispatcher.dispatchDue();
+
+        assertThat(smtpServer.getMessages()).isEqualTo(BOOKINGS * 2);
+        assertThat(smtpServer.getConnections()).isEqualTo(1);
+        assertThat(emailOutboxRepository.findAll())
+            .allSatisfy(m -> assertThat(m.getStatus()).isEqualTo(OutboxStatus.SENT));
+    }
+
+    @Test
+    void partialBatchWaitsForTheLingerTime() {
+        ReflectionTestUtils.setField(dispatcher, "linger", Duration.ofHours(1));
+        queueAll();
+
+        dispatcher.dispatchDue();
+
+        assertThat(smtpServer.getConnections()).isZero();
+        assertThat(emailOutboxRepository.findAll())
+            .allSatisfy(m -> assertThat(m.getStatus()).isEqualTo(OutboxStatus.PENDING));
+    }
+
+    private void queueAll() {
+        LocalDateTime now = LocalDateTime.now();
+        for (String bookingId : bookingIds) {
+            emailOutboxRepository.save(new EmailOutboxMessage(bookingId, MessageType.CUSTOMER_CONFIRMATION, now));
+            emailOutboxRepository.save(new EmailOutboxMessage(bookingId, MessageType.ADMIN_NOTIFICATION, now));
+        }
+    }
+
+    private static LocalSmtpServer startSmtpServer() {
+        try {
+            return new LocalSmtpServer();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start local SMTP server", e);
+        }
+    }
+}
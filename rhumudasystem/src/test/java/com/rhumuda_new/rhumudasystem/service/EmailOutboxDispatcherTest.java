@@ -0,0 +1,225 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.TestBookings;
+import com.rhumuda_new.rhumudasystem.entity.Booking;
+import com.rhumuda_new.rhumudasystem.entity.EmailOutboxMessage;
+import com.rhumuda_new.rhumudasystem.entity.EmailOutboxMessage.MessageType;
+import com.rhumuda_new.rhumudasystem.entity.EmailOutboxMessage.OutboxStatus;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PackageCategory;
+import com.rhumuda_new.rhumudasystem.repository.BookingRepository;
+import com.rhumuda_new.rhumudasystem.repository.EmailOutboxRepository;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageCategoryRepository;
+import com.rhumuda_new.rhumudasystem.repository.PackageRepository;
+import com.rhumuda_new.rhumudasystem.dto.BookingDTO;
+import jakarta.mail.Message;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(FakeMailConfig.class)
+class EmailOutboxDispatcherTest {
+
+    private static final String BOOKING_ID = "RHM-OUTBOX-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FakeJavaMailSender mailSender;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JettyPointRepository jettyPointRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private PackageCategoryRepository packageCategoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        mailSender.reset();
+
+        PackageCategory category = new PackageCategory();
+        category.setName("Boat Charter");
+        packageCategoryRepository.save(category);
+
+        Package packageDetails = new Package();
+        packageDetails.setName("Private Boat");
+        packageDetails.setCategoryId(category.getId());
+        packageRepository.save(packageDetails);
+
+        JettyPoint jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Rhumuda");
+        jettyPointRepository.save(jettyPoint);
+
+        Booking booking = TestBookings.booking(BOOKING_ID, jettyPoint,
+            packageRepository.findById(packageDetails.getId()).orElseThrow(), LocalDate.now().plusDays(14), 4);
+        bookingRepository.save(booking);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailOutboxRepository.deleteAll();
+        bookingRepository.deleteAll();
+        packageRepository.deleteAll();
+        packageCategoryRepository.deleteAll();
+        jettyPointRepository.deleteAll();
+    }
+
+    @Test
+    void submitQueuesEmailsWithoutSendingThem() throws Exception {
+        mailSender.failNext(Integer.MAX_VALUE);
+
+        mockMvc.perform(put("/api/bookings/{id}/submit", BOOKING_ID))
+            .andExpect(status().isOk());
+
+        assertThat(bookingRepository.findByBookingId(BOOKING_ID).orElseThrow().getStatus())
+            .isEqualTo(Booking.BookingStatus.PENDING);
+        assertThat(emailOutboxRepository.findByBookingId(BOOKING_ID))
+            .extracting(EmailOutboxMessage::getType)
+            .containsExactlyInAnyOrder(MessageType.CUSTOMER_CONFIRMATION, MessageType.ADMIN_NOTIFICATION);
+        assertThat(mailSender.getSent()).isEmpty();
+    }
+
+    @Test
+    void submitIsOneConditionalUpdatePlusTheOutboxRows() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        bookingService.submitBooking(BOOKING_ID);
+
+        // One UPDATE ... WHERE status = 'INCOMPLETE' and one INSERT per queued email
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void resubmittingIsAConflictAndQueuesNothing() throws Exception {
+        mockMvc.perform(put("/api/bookings/{id}/submit", BOOKING_ID))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/bookings/{id}/submit", BOOKING_ID))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("Booking cannot be submitted"));
+
+        assertThat(emailOutboxRepository.findByBookingId(BOOKING_ID)).hasSize(2);
+    }
+
+    @Test
+    void bookingForEmailsIsLoadedInOneQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BookingDTO booking = bookingService.getBookingById(BOOKING_ID);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(booking.getJettyPointName()).isEqualTo("Jeti Rhumuda");
+        assertThat(booking.getPackageName()).isEqualTo("Private Boat");
+        assertThat(booking.getCategoryName()).isEqualTo("Boat Charter");
+    }
+
+    @Test
+    void dispatcherSendsQueuedEmails() throws Exception {
+        mockMvc.perform(put("/api/bookings/{id}/submit", BOOKING_ID))
+            .andExpect(status().isOk());
+
+        dispatcher.dispatchDue();
+
+        assertThat(mailSender.getSent()).hasSize(2);
+        assertThat(mailSender.getSent().get(0).getRecipients(Message.RecipientType.TO)[0].toString())
+            .isEqualTo("aisyah@example.com");
+        assertThat(emailOutboxRepository.findByBookingId(BOOKING_ID))
+            .allSatisfy(m -> assertThat(m.getStatus()).isEqualTo(OutboxStatus.SENT));
+    }
+
+    @Test
+    void aMessageIsClaimedByOneDispatcherOnly() throws Exception {
+        mockMvc.perform(put("/api/bookings/{id}/submit", BOOKING_ID))
+            .andExpect(status().isOk());
+        List<EmailOutboxMessage> due = emailOutboxRepository.findByBookingId(BOOKING_ID);
+        EmailOutboxMessage taken = due.get(0);
+        LocalDateTime leaseUntil = LocalDateTime.now().plusMinutes(5);
+
+        // Another instance read the same rows and claimed the first one
+        assertThat(emailOutboxRepository.claim(taken.getId(), OutboxStatus.PENDING, taken.getNextAttemptAt(), leaseUntil))
+            .isEqualTo(1);
+        assertThat(emailOutboxRepository.claim(taken.getId(), OutboxStatus.PENDING, taken.getNextAttemptAt(), leaseUntil))
+            .isZero();
+
+        dispatcher.dispatchDue();
+
+        assertThat(mailSender.getSent()).hasSize(1);
+        assertThat(emailOutboxRepository.findById(taken.getId()).orElseThrow().getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(emailOutboxRepository.findById(due.get(1).getId()).orElseThrow().getStatus()).isEqualTo(OutboxStatus.SENT);
+    }
+
+    @Test
+    void failedSendIsRetriedLaterWithBackoff() throws Exception {
+        mockMvc.perform(put("/api/bookings/{id}/submit", BOOKING_ID))
+            .andExpect(status().isOk());
+        mailSender.failNext(1);
+
+        dispatcher.dispatchDue();
+
+        List<EmailOutboxMessage> messages = emailOutboxRepository.findByBookingId(BOOKING_ID);
+        EmailOutboxMessage failed = messages.stream()
+            .filter(m -> m.getStatus() == OutboxStatus.PENDING).findFirst().orElseThrow();
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(failed.getLastError()).contains("Simulated SMTP failure");
+        assertThat(mailSender.getSent()).hasSize(1);
+
+        // Not due yet, so a second pass sends nothing
+        dispatcher.dispatchDue();
+        assertThat(mailSender.getSent()).hasSize(1);
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        assertThat(dispatcher.backoffFor(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(dispatcher.backoffFor(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(dispatcher.backoffFor(4)).isEqualTo(Duration.ofSeconds(240));
+        assertThat(dispatcher.backoffFor(30)).isEqualTo(Duration.ofHours(1));
+    }
+}
@@ -0,0 +1,129 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.TestBookings;
+import com.rhumuda_new.rhumudasystem.dto.BookingDTO;
+import com.rhumuda_new.rhumudasystem.entity.JettyPoint;
+import com.rhumuda_new.rhumudasystem.repository.JettyPointRepository;
+import jakarta.mail.Multipart;
+import jakarta.mail.Part;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(FakeMailConfig.class)
+class EmailServiceTest {
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private FakeJavaMailSender mailSender;
+
+    @Autowired
+    private JettyPointRepository jettyPointRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        mailSender.reset();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jettyPointRepository.deleteAll();
+    }
+
+    @Test
+    void renderingWithResolvedJettyNameIssuesNoQueries() throws Exception {
+        BookingDTO booking = booking("1");
+        booking.setJettyPointName("Jeti Kuala Besut");
+
+        statistics.clear();
+        emailService.sendBookingEmails(booking);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(mailSender.getSent()).hasSize(2);
+        assertThat(body(mailSender.getSent().get(0))).contains("Jeti Kuala Besut");
+    }
+
+    @Test
+    void jettyNameFallsBackToCachedLookup() throws Exception {
+        JettyPoint jettyPoint = new JettyPoint();
+        jettyPoint.setName("Jeti Tok Bali");
+        jettyPointRepository.save(jettyPoint);
+        BookingDTO booking = booking(jettyPoint.getId().toString());
+
+        emailService.sendBookingEmails(booking);
+        statistics.clear();
+        emailService.sendBookingEmails(booking);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(body(mailSender.getSent().get(3))).contains("Jeti Tok Bali");
+    }
+
+    @Test
+    void logoIsAttachedInlineWithOriginalBytes() throws Exception {
+        BookingDTO booking = booking("1");
+        booking.setJettyPointName("Jeti Kuala Besut");
+
+        emailService.sendCustomerEmail(booking);
+
+        MimeMessage sent = new MimeMessage(null, new ByteArrayInputStream(body(mailSender.getSent().get(0)).getBytes()));
+        MimeBodyPart logo = findPart((Multipart) sent.getContent(), "<logo>");
+        assertThat(logo).isNotNull();
+        assertThat(logo.getContentType()).startsWith("image/png");
+        assertThat(logo.getDisposition()).isEqualTo(Part.INLINE);
+        byte[] expected = StreamUtils.copyToByteArray(new ClassPathResource("static/images/logo-rhumuda.png").getInputStream());
+        assertThat(StreamUtils.copyToByteArray(logo.getInputStream())).isEqualTo(expected);
+    }
+
+    private static MimeBodyPart findPart(Multipart multipart, String contentId) throws Exception {
+        for (int i = 0; i < multipart.getCount(); i++) {
+            MimeBodyPart part = (MimeBodyPart) multipart.getBodyPart(i);
+            if (contentId.equals(part.getContentID())) {
+                return part;
+            }
+            if (part.getContent() instanceof Multipart nested) {
+                MimeBodyPart found = findPart(nested, contentId);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String body(MimeMessage message) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out);
+        return out.toString();
+    }
+
+    private static BookingDTO booking(String jettyPointId) {
+        return TestBookings.bookingDto("RHM-EMAIL-1", jettyPointId, LocalDate.now().plusDays(3), 2);
+    }
+}
@@ -0,0 +1,95 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailTemplateTest {
+
+    private static final Map<String, String> VALUES = Map.ofEntries(
+        Map.entry("bookingId", "RHM1729000000000123"),
+        Map.entry("firstName", "Aisyah"),
+        Map.entry("lastName", "Rahman"),
+        Map.entry("email", "aisyah@example.com"),
+        Map.entry("phoneNumber", "0123456789"),
+        Map.entry("addressLine1", "1 Jalan Pantai"),
+        Map.entry("addressLine2", "Kampung Raja"),
+        Map.entry("categoryName", "Island Trip"),
+        Map.entry("packageName", "Pulau Perhentian"),
+        Map.entry("jettyName", "Jeti Kuala Besut"),
+        Map.entry("bookingDate", "01/11/2026"),
+        Map.entry("passengers", "4"));
+
+    @Test
+    void rendersLikeChainedReplaceForPlainValues() throws Exception {
+        String source = loadTemplate();
+
+        assertThat(EmailTemplate.compile(source).render(VALUES::get)).isEqualTo(chainedReplace(source));
+    }
+
+    @Test
+    void escapesHtmlInValues() {
+        EmailTemplate template = EmailTemplate.compile("<p>${name}</p>");
+
+        assertThat(template.render(name -> "<b>Tom & \"Jerry\"</b>"))
+            .isEqualTo("<p>&lt;b&gt;Tom &amp; &quot;Jerry&quot;&lt;/b&gt;</p>");
+    }
+
+    @Test
+    void leavesUnknownPlaceholdersAndUnterminatedMarkersAlone() {
+        EmailTemplate template = EmailTemplate.compile("${known} ${unknown} ${broken");
+
+        assertThat(template.render(name -> name.equals("known") ? "ok" : null))
+            .isEqualTo("ok ${unknown} ${broken");
+    }
+
+    // Allocation counts depend on the JIT, so only under -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void allocatesLessThanChainedReplace() throws Exception {
+        String source = loadTemplate();
+        EmailTemplate template = EmailTemplate.compile(source);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int iterations = 2_000;
+
+        // Warm up both paths so JIT and class loading do not skew the numbers
+        for (int i = 0; i < iterations; i++) {
+            template.render(VALUES::get);
+            chainedReplace(source);
+        }
+
+        long start = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            template.render(VALUES::get);
+        }
+        long compiled = (threads.getCurrentThreadAllocatedBytes() - start) / iterations;
+
+        start = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            chainedReplace(source);
+        }
+        long chained = (threads.getCurrentThreadAllocatedBytes() - start) / iterations;
+
+        assertThat(compiled).isLessThan(chained / 3);
+    }
+
+    private static String loadTemplate() throws Exception {
+        ClassPathResource resource = new ClassPathResource("templates/email/booking-confirmation.html");
+        return StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+    }
+
+    private static String chainedReplace(String source) {
+        String content = source;
+        for (Map.Entry<String, String> entry : VALUES.entrySet()) {
+            content = content.replace("${" + entry.getKey() + "}", entry.getValue());
+        }
+        return content;
+    }
+}
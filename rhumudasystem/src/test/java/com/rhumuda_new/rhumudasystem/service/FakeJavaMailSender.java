@@ -0,0 +1,95 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory {@link JavaMailSender} that records messages instead of talking to SMTP and can be
+ * told to fail the next N sends.
+ */
+public class FakeJavaMailSender implements JavaMailSender {
+
+    private final Session session = Session.getInstance(new Properties());
+    private final List<MimeMessage> sent = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresRemaining = new AtomicInteger();
+
+    public List<MimeMessage> getSent() {
+        return sent;
+    }
+
+    public void failNext(int count) {
+        failuresRemaining.set(count);
+    }
+
+    public void reset() {
+        sent.clear();
+        failuresRemaining.set(0);
+    }
+
+    @Override
+    public MimeMessage createMimeMessage() {
+        return new MimeMessage(session);
+    }
+
+    @Override
+    public MimeMessage createMimeMessage(InputStream contentStream) throws MailException {
+        try {
+            return new MimeMessage(session, contentStream);
+        } catch (Exception e) {
+            throw new MailSendException("Could not parse message", e);
+        }
+    }
+
+    @Override
+    public void send(MimeMessage... mimeMessages) throws MailException {
+        // Like JavaMailSenderImpl, keep going after a failure and report failures per message
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        for (MimeMessage message : mimeMessages) {
+            if (failuresRemaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                failedMessages.put(message, new MailSendException("Simulated SMTP failure"));
+                continue;
+            }
+            try {
+                message.saveChanges();
+            } catch (Exception e) {
+                failedMessages.put(message, e);
+                continue;
+            }
+            sent.add(message);
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    @Override
+    public void send(MimeMessagePreparator... mimeMessagePreparators) throws MailException {
+        for (MimeMessagePreparator preparator : mimeMessagePreparators) {
+            MimeMessage message = createMimeMessage();
+            try {
+                preparator.prepare(message);
+            } catch (Exception e) {
+                throw new MailSendException("Could not prepare message", e);
+            }
+            send(message);
+        }
+    }
+
+    @Override
+    public void send(SimpleMailMessage... simpleMessages) throws MailException {
+        throw new UnsupportedOperationException("Only MIME messages are sent by the application");
+    }
+}
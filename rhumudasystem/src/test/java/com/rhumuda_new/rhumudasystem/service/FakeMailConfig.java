@@ -0,0 +1,16 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Replaces the SMTP-backed mail sender with {@link FakeJavaMailSender}.
+ */
+@TestConfiguration
+public class FakeMailConfig {
+
+    @Bean
+    FakeJavaMailSender fakeJavaMailSender() {
+        return new FakeJavaMailSender();
+    }
+}
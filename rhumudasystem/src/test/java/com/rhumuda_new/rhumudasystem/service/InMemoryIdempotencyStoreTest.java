@@ -0,0 +1,84 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.service.IdempotencyStore.State;
+import com.rhumuda_new.rhumudasystem.service.IdempotencyStore.StoredResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryIdempotencyStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final String HASH = "request";
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void firstClaimRunsAndRepeatsSeeItsOutcome() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100, now::get);
+
+        assertThat(store.claim("a", HASH, TTL).state()).isEqualTo(State.ACQUIRED);
+        assertThat(store.claim("a", HASH, TTL).state()).isEqualTo(State.IN_PROGRESS);
+
+        store.complete("a", new StoredResponse(200, "{\"ok\":true}"));
+
+        IdempotencyStore.Claim repeat = store.claim("a", HASH, TTL);
+        assertThat(repeat.state()).isEqualTo(State.COMPLETED);
+        assertThat(repeat.response()).isEqualTo(new StoredResponse(200, "{\"ok\":true}"));
+    }
+
+    @Test
+    void releasedAndExpiredKeysCanBeClaimedAgain() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100, now::get);
+
+        store.claim("released", HASH, TTL);
+        store.release("released");
+        assertThat(store.claim("released", HASH, TTL).state()).isEqualTo(State.ACQUIRED);
+
+        store.claim("expiring", HASH, TTL);
+        store.complete("expiring", new StoredResponse(200, null));
+        now.addAndGet(TTL.toNanos());
+        assertThat(store.claim("expiring", HASH, TTL).state()).isEqualTo(State.ACQUIRED);
+    }
+
+    @Test
+    void staysWithinItsBoundDroppingTheOldestKeys() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(3, now::get);
+        for (String key : new String[] {"a", "b", "c", "d"}) {
+            store.claim(key, HASH, TTL);
+            store.complete(key, new StoredResponse(200, key));
+        }
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.claim("a", HASH, TTL).state()).isEqualTo(State.ACQUIRED);
+        assertThat(store.claim("d", HASH, TTL).state()).isEqualTo(State.COMPLETED);
+    }
+
+    @Test
+    void keysInProgressAreNeverDroppedForRoom() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(2, now::get);
+        store.claim("slow", HASH, TTL);
+        store.claim("done", HASH, TTL);
+        store.complete("done", new StoredResponse(200, null));
+
+        store.claim("next", HASH, TTL);
+        store.claim("another", HASH, TTL);
+
+        assertThat(store.claim("slow", HASH, TTL).state()).isEqualTo(State.IN_PROGRESS);
+        assertThat(store.claim("done", HASH, TTL).state()).isEqualTo(State.ACQUIRED);
+    }
+
+    @Test
+    void keyReusedWithAnotherRequestIsRefused() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100, now::get);
+        store.claim("a", HASH, TTL);
+
+        assertThat(store.claim("a", "other", TTL).state()).isEqualTo(State.MISMATCHED);
+        store.complete("a", new StoredResponse(200, null));
+        assertThat(store.claim("a", "other", TTL).state()).isEqualTo(State.MISMATCHED);
+        assertThat(store.claim("a", HASH, TTL).state()).isEqualTo(State.COMPLETED);
+    }
+}
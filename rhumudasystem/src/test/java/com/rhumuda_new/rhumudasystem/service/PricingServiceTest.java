@@ -0,0 +1,218 @@
+package com.rhumuda_new.rhumudasystem.service;
+
+import com.rhumuda_new.rhumudasystem.entity.AddOn;
+import com.rhumuda_new.rhumudasystem.entity.Package;
+import com.rhumuda_new.rhumudasystem.entity.PriceTier;
+import com.rhumuda_new.rhumudasystem.exception.PriceUnavailableException;
+import com.rhumuda_new.rhumudasystem.exception.UnresolvedReferenceException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PricingServiceTest {
+
+    private static final String[] TIER_TYPES = {"FIXED", "ADULT", "CHILD", "INFANT"};
+
+    @Test
+    void fixedTierIsChargedOnceAndPerPersonAddOnsPerPassenger() {
+        Package boat = pkg(1L, null, tier("FIXED", "850.00"));
+        PricingService pricingService = pricingService(List.of(boat),
+            List.of(addOn(10L, "10.00", true), addOn(11L, "25.50", false)));
+
+        PricingService.Quote quote = pricingService.quote(1L, 6, List.of(10L, 11L));
+
+        assertThat(quote.packageTotal()).isEqualByComparingTo("850.00");
+        assertThat(quote.addOnsTotal()).isEqualByComparingTo("85.50");
+        assertThat(quote.total()).isEqualByComparingTo("935.50");
+    }
+
+    @Test
+    void missingTiersFallBackToTheNextOlderTier() {
+        Package trip = pkg(1L, new BigDecimal("120"), tier("CHILD", "60"));
+        PricingService pricingService = pricingService(List.of(trip), List.of());
+
+        // Adults pay the base price, infants the child price
+        assertThat(pricingService.quote(1L, 2, 1, 1, List.of()).total()).isEqualByComparingTo("360.00");
+    }
+
+    @Test
+    void unknownReferencesAreAllReportedAndUnpricedPackagesRejected() {
+        PricingService pricingService = pricingService(List.of(pkg(1L, null)), List.of());
+
+        assertThatThrownBy(() -> pricingService.quote(99L, 2, List.of(7L, 8L)))
+            .isInstanceOfSatisfying(UnresolvedReferenceException.class, e -> assertThat(e.getErrors())
+                .containsExactly("Package not found: 99", "AddOn not found: 7", "AddOn not found: 8"));
+        assertThatThrownBy(() -> pricingService.quote(1L, 2, List.of()))
+            .isInstanceOf(PriceUnavailableException.class);
+    }
+
+    @Test
+    void quotesMatchBigDecimalReferenceForRandomCatalogs() {
+        Random random = new Random(20250101L);
+        for (int round = 0; round < 200; round++) {
+            List<Package> packages = new ArrayList<>();
+            for (long id = 1; id <= 20; id++) {
+                packages.add(randomPackage(random, id));
+            }
+            List<AddOn> addOns = new ArrayList<>();
+            for (long id = 1; id <= 10; id++) {
+                addOns.add(addOn(id, randomPrice(random).toPlainString(), random.nextBoolean()));
+            }
+            PricingService pricingService = pricingService(packages, addOns);
+
+            for (int i = 0; i < 50; i++) {
+                Package packageDetails = packages.get(random.nextInt(packages.size()));
+                int adults = random.nextInt(20);
+                int children = random.nextInt(10);
+                int infants = random.nextInt(5);
+                List<AddOn> selected = addOns.stream().filter(a -> random.nextInt(3) == 0).toList();
+                List<Long> selectedIds = selected.stream().map(AddOn::getId).toList();
+
+                BigDecimal expected = referenceTotal(packageDetails, adults, children, infants, selected);
+                if (expected == null) {
+                    assertThatThrownBy(() -> pricingService.quote(packageDetails.getId(), adults, children, infants, selectedIds))
+                        .isInstanceOf(PriceUnavailableException.class);
+                } else {
+                    assertThat(pricingService.quote(packageDetails.getId(), adults, children, infants, selectedIds).total())
+                        .as("package %s, %d/%d/%d, add-ons %s", packageDetails.getPriceTiers(), adults, children, infants, selectedIds)
+                        .isEqualByComparingTo(expected);
+                }
+            }
+        }
+    }
+
+    // Timing-based, so only under -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void quoteThroughput() {
+        Random random = new Random(42L);
+        List<Package> packages = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            Package packageDetails = randomPackage(random, id);
+            packageDetails.setBasePrice(new BigDecimal("100.00"));
+            packages.add(packageDetails);
+        }
+        List<AddOn> addOns = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            addOns.add(addOn(id, "10.00", id % 2 == 0));
+        }
+        PricingService pricingService = pricingService(packages, addOns);
+        List<Long> selected = List.of(2L, 3L, 5L);
+
+        // Warm up, then measure; an ad hoc stand-in for a JMH run
+        BigDecimal sink = BigDecimal.ZERO;
+        for (int i = 0; i < 200_000; i++) {
+            sink = sink.add(pricingService.quote((long) (i % 50) + 1, i % 12 + 1, selected).total());
+        }
+        int runs = 1_000_000;
+        long started = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            sink = sink.add(pricingService.quote((long) (i % 50) + 1, i % 12 + 1, selected).total());
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        assertThat(sink.signum()).isPositive();
+        assertThat(runs / seconds).as("quotes per second").isGreaterThan(1_000_000);
+    }
+
+    // Straightforward BigDecimal version of the pricing rules
+    private static BigDecimal referenceTotal(Package packageDetails, int adults, int children, int infants, List<AddOn> addOns) {
+        BigDecimal fixed = firstTier(packageDetails, "FIXED");
+        BigDecimal packageTotal;
+        if (fixed != null) {
+            packageTotal = money(fixed);
+        } else {
+            BigDecimal adult = firstTier(packageDetails, "ADULT");
+            if (adult == null) {
+                adult = packageDetails.getBasePrice();
+            }
+            if (adult == null) {
+                return null;
+            }
+            BigDecimal child = firstTier(packageDetails, "CHILD");
+            child = child != null ? child : adult;
+            BigDecimal infant = firstTier(packageDetails, "INFANT");
+            infant = infant != null ? infant : child;
+            packageTotal = money(adult).multiply(BigDecimal.valueOf(adults))
+                .add(money(child).multiply(BigDecimal.valueOf(children)))
+                .add(money(infant).multiply(BigDecimal.valueOf(infants)));
+        }
+        int passengers = adults + children + infants;
+        BigDecimal addOnsTotal = BigDecimal.ZERO;
+        for (AddOn addOn : addOns) {
+            BigDecimal price = money(addOn.getPrice());
+            addOnsTotal = addOnsTotal.add(addOn.getPerPerson() ? price.multiply(BigDecimal.valueOf(passengers)) : price);
+        }
+        return packageTotal.add(addOnsTotal);
+    }
+
+    private static BigDecimal firstTier(Package packageDetails, String type) {
+        return packageDetails.getPriceTiers().stream()
+            .filter(t -> t.getType().equals(type))
+            .map(PriceTier::getPrice)
+            .findFirst().orElse(null);
+    }
+
+    private static BigDecimal money(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static Package randomPackage(Random random, long id) {
+        List<PriceTier> tiers = new ArrayList<>();
+        int tierCount = random.nextInt(4);
+        for (int t = 0; t < tierCount; t++) {
+            tiers.add(tier(TIER_TYPES[random.nextInt(TIER_TYPES.length)], randomPrice(random).toPlainString()));
+        }
+        return pkg(id, random.nextInt(4) == 0 ? null : randomPrice(random), tiers.toArray(new PriceTier[0]));
+    }
+
+    private static BigDecimal randomPrice(Random random) {
+        // Up to three decimals so rounding to sen is exercised
+        return BigDecimal.valueOf(random.nextInt(2_000_000), random.nextInt(4));
+    }
+
+    private static PricingService pricingService(List<Package> packages, List<AddOn> addOns) {
+        PriceList priceList = PriceList.compile(packages, addOns);
+        CatalogService catalogService = new CatalogService() {
+            @Override
+            public PriceList getPriceList(Long packageId, Collection<Long> addOnIds) {
+                return priceList;
+            }
+        };
+        PricingService pricingService = new PricingService();
+        ReflectionTestUtils.setField(pricingService, "catalogService", catalogService);
+        return pricingService;
+    }
+
+    private static Package pkg(Long id, BigDecimal basePrice, PriceTier... tiers) {
+        Package packageDetails = new Package();
+        packageDetails.setId(id);
+        packageDetails.setBasePrice(basePrice);
+        packageDetails.setPriceTiers(new ArrayList<>(List.of(tiers)));
+        return packageDetails;
+    }
+
+    private static PriceTier tier(String type, String price) {
+        PriceTier tier = new PriceTier();
+        tier.setType(type);
+        tier.setPrice(new BigDecimal(price));
+        return tier;
+    }
+
+    private static AddOn addOn(Long id, String price, boolean perPerson) {
+        AddOn addOn = new AddOn();
+        addOn.setId(id);
+        addOn.setPrice(new BigDecimal(price));
+        addOn.setPerPerson(perPerson);
+        return addOn;
+    }
+}